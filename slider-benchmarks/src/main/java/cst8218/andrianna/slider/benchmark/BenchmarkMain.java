@@ -0,0 +1,53 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * BenchmarkMain.java
+ *
+ * Entry point of benchmarks.jar, runs JMH and writes the results as JSON
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Accepts the usual JMH command line (e.g. a benchmark regex, -p worldSize=100)
+ * and defaults the result to machine readable JSON so runs can be compared
+ */
+public final class BenchmarkMain {
+
+    // default result file, override with -rff
+    public static final String RESULT_FILE = "slider-benchmarks.json";
+
+    private BenchmarkMain() {
+    }
+    /**
+     * Runs the selected benchmarks
+     *
+     * @param args JMH command line options
+     * @throws Exception if the options are invalid or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        // only fill in what the command line left unset
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(RESULT_FILE);
+        }
+        if (cli.getIncludes().isEmpty()) {
+            options.include(BenchmarkMain.class.getPackageName() + ".*");
+        }
+        new Runner(options.build()).run();
+    }
+}
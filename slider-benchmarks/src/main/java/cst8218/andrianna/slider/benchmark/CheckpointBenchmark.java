@@ -0,0 +1,100 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * CheckpointBenchmark.java
+ *
+ * Measures saving and loading the whole world through WorldCheckpoint,
+ * the path the game takes instead of reading every slider through JPA at startup
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.game.WorldCheckpoint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checkpoint benchmarks at several world sizes, reported per checkpoint
+ * Compare load with FacadeBenchmark.findAll for the cost of a startup from the database
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckpointBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int worldSize;
+
+    private List<Slider> world;
+    private Path directory;
+    private Path file;
+    private long tick;
+    /**
+     * Builds the world and writes the checkpoint that load() reads
+     *
+     * @throws IOException if the temporary directory cannot be used
+     */
+    @Setup(Level.Trial)
+    public void createCheckpoint() throws IOException {
+        world = Worlds.create(worldSize, true);
+        directory = Files.createTempDirectory("slider-checkpoint");
+        file = directory.resolve("world.ckpt");
+        WorldCheckpoint.write(file, tick, System.currentTimeMillis(), world);
+    }
+    /**
+     * Deletes the checkpoint and its directory
+     *
+     * @throws IOException if they cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteCheckpoint() throws IOException {
+        Files.deleteIfExists(directory.resolve("world.ckpt.tmp"));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+    /**
+     * Saves the world, including forcing the mapped file to disk
+     *
+     * @return the tick written so the work is not eliminated
+     * @throws IOException if the checkpoint cannot be written
+     */
+    @Benchmark
+    public long save() throws IOException {
+        WorldCheckpoint.write(file, ++tick, System.currentTimeMillis(), world);
+        return tick;
+    }
+    /**
+     * Loads and verifies the checkpoint into new sliders
+     *
+     * @return the number of sliders loaded so the work is not eliminated
+     * @throws IOException if the checkpoint cannot be read
+     */
+    @Benchmark
+    public int load() throws IOException {
+        return WorldCheckpoint.read(file).getSliders().size();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * EmbeddedSliderFacade.java
+ *
+ * Runs the application's AbstractFacade against an in-process H2 database
+ * instead of the container managed MariaDB pool
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.game.AbstractFacade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.List;
+
+/**
+ * Facade over a resource local persistence unit
+ * The container starts a transaction around every SliderFacade call,
+ * here the caller does it with begin() and commit()
+ */
+public class EmbeddedSliderFacade extends AbstractFacade<Slider> {
+
+    // persistence unit in META-INF/persistence.xml of this module
+    public static final String PERSISTENCE_UNIT = "SliderBenchPU";
+
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+    /**
+     * Opens the in-process database, recreating the slider table
+     */
+    public EmbeddedSliderFacade() {
+        super(Slider.class);
+        emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        em = emf.createEntityManager();
+    }
+    /**
+     * Returns the EntityManager of the embedded unit
+     *
+     * @return EntityManager instance for the Slider entity
+     */
+    @Override
+    protected EntityManager getEntityManager() {
+        return em;
+    }
+    /**
+     * Persists the sliders in batches, one transaction per batch
+     *
+     * @param sliders sliders to store, ids are generated
+     */
+    public void seed(List<Slider> sliders) {
+        final int batchSize = 1000;
+        for (int from = 0; from < sliders.size(); from += batchSize) {
+            begin();
+            for (Slider slider : sliders.subList(from, Math.min(from + batchSize, sliders.size()))) {
+                create(slider);
+            }
+            commit();
+            clear();
+        }
+    }
+    /**
+     * Starts a transaction, as the container would for a SliderFacade call
+     */
+    public void begin() {
+        em.getTransaction().begin();
+    }
+    /**
+     * Commits the current transaction
+     */
+    public void commit() {
+        em.getTransaction().commit();
+    }
+    /**
+     * Detaches every entity so the next read goes to the database,
+     * as it would in a new request
+     */
+    public void clear() {
+        em.clear();
+    }
+    /**
+     * Closes the EntityManager and its factory
+     * The next facade recreates the slider table
+     */
+    public void close() {
+        em.close();
+        emf.close();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * FacadeBenchmark.java
+ *
+ * Measures the AbstractFacade CRUD operations and a persisted game frame
+ * against an embedded in-process database
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Facade benchmarks, every operation starts from a cleared EntityManager
+ * so it reads from the database like a new request would
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FacadeBenchmark {
+
+    // page size used by findRange, the size a client would page through the world with
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private EmbeddedSliderFacade facade;
+    private long[] ids;
+    private int cursor;
+    private int pageStart;
+    /**
+     * Creates the database and seeds it with the benchmark world
+     */
+    @Setup(Level.Trial)
+    public void seedDatabase() {
+        facade = new EmbeddedSliderFacade();
+        facade.seed(Worlds.create(rows, false));
+        List<Slider> stored = facade.findAll();
+        ids = new long[stored.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = stored.get(i).getId();
+        }
+        facade.clear();
+    }
+    /**
+     * Closes the database
+     */
+    @TearDown(Level.Trial)
+    public void closeDatabase() {
+        facade.close();
+    }
+    // walks the ids so consecutive finds hit different rows
+    private long nextId() {
+        long id = ids[cursor];
+        if (++cursor == ids.length) {
+            cursor = 0;
+        }
+        return id;
+    }
+    /**
+     * AbstractFacade.find by primary key
+     *
+     * @return the slider found
+     */
+    @Benchmark
+    public Slider find() {
+        facade.clear();
+        return facade.find(nextId());
+    }
+    /**
+     * AbstractFacade.findAll, the GET /sliders query
+     *
+     * @return every slider
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Slider> findAll() {
+        facade.clear();
+        return facade.findAll();
+    }
+    /**
+     * AbstractFacade.findRange for one page starting at a moving offset
+     *
+     * @return the page of sliders
+     */
+    @Benchmark
+    public List<Slider> findRange() {
+        facade.clear();
+        int from = pageStart;
+        pageStart = (pageStart + PAGE_SIZE) % Math.max(1, ids.length - PAGE_SIZE);
+        return facade.findRange(new int[]{from, from + PAGE_SIZE});
+    }
+    /**
+     * AbstractFacade.count
+     *
+     * @return number of sliders
+     */
+    @Benchmark
+    public int count() {
+        return facade.count();
+    }
+    /**
+     * AbstractFacade.edit of one slider in its own transaction,
+     * the way SliderGame saves each slider
+     *
+     * @return the slider that was saved
+     */
+    @Benchmark
+    public Slider edit() {
+        facade.clear();
+        Slider slider = facade.find(nextId());
+        slider.timeStep();
+        facade.begin();
+        facade.edit(slider);
+        facade.commit();
+        return slider;
+    }
+    /**
+     * One frame of the game loop as it runs against the database:
+     * findAll, then timeStep and edit every slider in its own transaction
+     *
+     * @return number of sliders stepped
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int persistedFrame() {
+        facade.clear();
+        List<Slider> sliders = facade.findAll();
+        for (Slider slider : sliders) {
+            slider.timeStep();
+            facade.begin();
+            facade.edit(slider);
+            facade.commit();
+        }
+        return sliders.size();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SerializationBenchmark.java
+ *
+ * Measures the cost of writing a List of Slider the way the REST
+ * endpoints do, as JSON (JSON-B) and as XML (JAXB)
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization benchmarks for the findAll/getSliders payload
+ * Each operation serializes the whole list, the result is the payload size
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int listSize;
+
+    private List<Slider> sliders;
+    private Jsonb jsonb;
+    private JAXBContext jaxbContext;
+    // reused between operations so the benchmark measures serialization and not buffer growth
+    private ByteArrayOutputStream out;
+    /**
+     * Creates the list and the (thread safe, expensive) serializer contexts once
+     *
+     * @throws JAXBException if the JAXB context cannot be built
+     */
+    @Setup(Level.Trial)
+    public void createSerializers() throws JAXBException {
+        sliders = Worlds.create(listSize, true);
+        jsonb = JsonbBuilder.create();
+        jaxbContext = JAXBContext.newInstance(Slider.class);
+        out = new ByteArrayOutputStream(listSize * 256);
+    }
+    /**
+     * Releases the JSON-B instance
+     *
+     * @throws Exception if closing fails
+     */
+    @TearDown(Level.Trial)
+    public void closeSerializers() throws Exception {
+        jsonb.close();
+    }
+    /**
+     * JSON the way the JSON-B provider writes a List of Slider
+     *
+     * @return size of the payload in bytes
+     */
+    @Benchmark
+    public int json() {
+        out.reset();
+        jsonb.toJson(sliders, out);
+        return out.size();
+    }
+    /**
+     * XML the way the JAXB collection provider writes a List of Slider:
+     * a sliders element wrapping one slider fragment per element
+     *
+     * @return size of the payload in bytes
+     * @throws JAXBException if marshalling fails
+     * @throws IOException if writing the wrapper fails
+     */
+    @Benchmark
+    public int xml() throws JAXBException, IOException {
+        out.reset();
+        writeXml(sliders, out);
+        return out.size();
+    }
+
+    private void writeXml(List<Slider> list, OutputStream stream) throws JAXBException, IOException {
+        // marshallers are not thread safe, the provider creates one per request as well
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        stream.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><sliders>"
+                .getBytes(StandardCharsets.UTF_8));
+        for (Slider slider : list) {
+            marshaller.marshal(slider, stream);
+        }
+        stream.write("</sliders>".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderStepBenchmark.java
+ *
+ * Measures the in-memory simulation: Slider.timeStep(), Slider.update()
+ * and a full frame over the whole world
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulation benchmarks at several world sizes
+ * timeStep reports the cost per slider, update and frame report the cost per frame
+ * timeStep() wears maxTravel down until the slider stops moving, so the stepped world
+ * is put back to its first state every ACTIVE_FRAMES frames and before each iteration
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SliderStepBenchmark {
+
+    // frames stepped before the world is restored, about 97% of the sliders still move after them
+    private static final int ACTIVE_FRAMES = 100;
+
+    @Param({"100", "10000", "1000000"})
+    private int worldSize;
+
+    private Slider[] world;
+    private Slider[] edits;
+    // maxTravel, currentTravel, mvtDirection and dirChangeCount of every slider as created
+    private int[] motion;
+    private int cursor;
+    private int frames; // frames stepped since the last restore
+    /**
+     * Builds the world once per trial, and the edits that update() copies from
+     */
+    @Setup(Level.Trial)
+    public void createWorld() {
+        List<Slider> sliders = Worlds.create(worldSize, true);
+        world = sliders.toArray(new Slider[0]);
+        motion = new int[world.length * 4];
+        for (int i = 0; i < world.length; i++) {
+            motion[i * 4] = world[i].getMaxTravel();
+            motion[i * 4 + 1] = world[i].getCurrentTravel();
+            motion[i * 4 + 2] = world[i].getMvtDirection();
+            motion[i * 4 + 3] = world[i].getDirChangeCount();
+        }
+        // the edits are a second world so update() copies different values
+        List<Slider> changes = Worlds.create(worldSize, true);
+        Collections.reverse(changes);
+        edits = changes.toArray(new Slider[0]);
+    }
+    /**
+     * Starts every iteration from the world as created
+     */
+    @Setup(Level.Iteration)
+    public void restoreWorld() {
+        for (int i = 0; i < world.length; i++) {
+            world[i].restoreMotion(motion[i * 4], motion[i * 4 + 1], motion[i * 4 + 2], motion[i * 4 + 3]);
+        }
+        cursor = 0;
+        frames = 0;
+    }
+    /**
+     * Counts a stepped frame and restores the world after ACTIVE_FRAMES of them,
+     * the restore is one copy per slider every ACTIVE_FRAMES time steps
+     */
+    private void frameDone() {
+        if (++frames == ACTIVE_FRAMES) {
+            restoreWorld();
+        }
+    }
+    /**
+     * Slider.timeStep() on one slider, reported per slider
+     *
+     * @return a field of the slider so the work is not eliminated
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int timeStep() {
+        // walk the world so large sizes pay for the cache misses a real frame would
+        Slider slider = world[cursor];
+        slider.timeStep();
+        if (++cursor == world.length) {
+            cursor = 0;
+            frameDone();
+        }
+        return slider.getCurrentTravel();
+    }
+    /**
+     * Slider.update() copying every edit onto the world, reported per frame
+     *
+     * @return a field of the last slider so the work is not eliminated
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int update() {
+        for (int i = 0; i < world.length; i++) {
+            world[i].update(edits[i]);
+        }
+        return world[world.length - 1].getX();
+    }
+    /**
+     * One full frame of the game: every slider takes a time step
+     * Throughput is frames per second, compare it with SliderGame.CHANGE_RATE
+     *
+     * @return a field of the last slider so the work is not eliminated
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int frame() {
+        for (Slider slider : world) {
+            slider.timeStep();
+        }
+        int last = world[world.length - 1].getCurrentTravel();
+        frameDone();
+        return last;
+    }
+}
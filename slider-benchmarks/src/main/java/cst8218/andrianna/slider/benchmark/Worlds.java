@@ -0,0 +1,57 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * Worlds.java
+ *
+ * Builds reproducible worlds of sliders for the benchmarks
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.benchmark;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Factory for seeded slider worlds so every run measures the same data
+ */
+public final class Worlds {
+
+    // fixed seed so runs can be compared with each other
+    public static final long SEED = 8218L;
+
+    private Worlds() {
+    }
+    /**
+     * Creates a world of sliders with valid random positions and motion state
+     *
+     * @param size number of sliders in the world
+     * @param withIds true to assign ids 1..size, false to leave them for the database
+     * @return list of new sliders
+     */
+    public static List<Slider> create(int size, boolean withIds) {
+        Random random = new Random(SEED);
+        List<Slider> world = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Slider slider = new Slider();
+            if (withIds) {
+                slider.setId((long) i + 1);
+            }
+            slider.setX(random.nextInt(Slider.X_LIMIT + 1));
+            slider.setY(random.nextInt(Slider.Y_LIMIT + 1));
+            slider.setSize(1 + random.nextInt(Slider.SIZE_LIMIT));
+            slider.setMaxTravel(1 + random.nextInt(Slider.MAX_TRAVEL_LIMIT));
+            // spread the sliders across their travel so direction changes are mixed in every frame
+            slider.setCurrentTravel(random.nextInt(slider.getMaxTravel()));
+            slider.setMvtDirection(random.nextBoolean() ? 1 : -1);
+            slider.setDirChangeCount(random.nextInt(Slider.MAX_DIR_CHANGES));
+            world.add(slider);
+        }
+        return world;
+    }
+}
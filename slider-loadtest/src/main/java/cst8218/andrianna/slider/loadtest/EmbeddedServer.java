@@ -0,0 +1,117 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * EmbeddedServer.java
+ *
+ * Starts embedded GlassFish in this JVM and deploys the slider war into it,
+ * with the MariaDB pool swapped for an in-memory H2 database
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.glassfish.embeddable.GlassFish;
+import org.glassfish.embeddable.GlassFishException;
+import org.glassfish.embeddable.GlassFishProperties;
+import org.glassfish.embeddable.GlassFishRuntime;
+
+/**
+ * The application server under test
+ */
+public class EmbeddedServer implements AutoCloseable {
+
+    // context root the war is deployed under
+    public static final String CONTEXT_ROOT = "slider";
+    // application resources that point at the database
+    private static final String RESOURCES_ENTRY = "WEB-INF/glassfish-resources.xml";
+    // the in-memory replacement, packaged with the load test
+    private static final String IN_MEMORY_RESOURCES = "/glassfish-resources.xml";
+
+    private final GlassFishRuntime runtime;
+    private final GlassFish glassfish;
+    private final Path deployedWar;
+    /**
+     * Boots the server and deploys the war
+     *
+     * @param war the slider war built by the slider project
+     * @param port HTTP port to listen on
+     * @throws GlassFishException if the server cannot start or the deployment fails
+     * @throws IOException if the war cannot be copied
+     */
+    public EmbeddedServer(Path war, int port) throws GlassFishException, IOException {
+        deployedWar = withInMemoryDatabase(war);
+        GlassFishProperties properties = new GlassFishProperties();
+        properties.setPort("http-listener", port);
+        runtime = GlassFishRuntime.bootstrap();
+        glassfish = runtime.newGlassFish(properties);
+        glassfish.start();
+        String name = glassfish.getDeployer().deploy(deployedWar.toUri(),
+                "--name=" + CONTEXT_ROOT, "--contextroot=" + CONTEXT_ROOT);
+        if (name == null) {
+            throw new GlassFishException("Deployment of " + war + " failed, see the server log above");
+        }
+    }
+    /**
+     * Copies the war, replacing its glassfish-resources.xml with the in-memory one
+     *
+     * @param war the original war
+     * @return the copy to deploy
+     * @throws IOException if the war cannot be read or the copy written
+     */
+    private static Path withInMemoryDatabase(Path war) throws IOException {
+        Path copy = Files.createTempFile("slider-loadtest", ".war");
+        copy.toFile().deleteOnExit();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(war));
+                ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(copy))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (RESOURCES_ENTRY.equals(entry.getName())) {
+                    continue; // replaced below
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                in.transferTo(out);
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry(RESOURCES_ENTRY));
+            try (InputStream resources = EmbeddedServer.class.getResourceAsStream(IN_MEMORY_RESOURCES)) {
+                if (resources == null) {
+                    throw new IOException(IN_MEMORY_RESOURCES + " is missing from the load test jar");
+                }
+                resources.transferTo(out);
+            }
+            out.closeEntry();
+        }
+        return copy;
+    }
+    /**
+     * Undeploys the application and stops the server
+     */
+    @Override
+    public void close() {
+        try {
+            glassfish.getDeployer().undeploy(CONTEXT_ROOT);
+            glassfish.stop();
+            glassfish.dispose();
+            runtime.shutdown();
+        } catch (GlassFishException exception) {
+            throw new IllegalStateException("Embedded server did not stop cleanly", exception);
+        } finally {
+            try {
+                Files.deleteIfExists(deployedWar);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+}
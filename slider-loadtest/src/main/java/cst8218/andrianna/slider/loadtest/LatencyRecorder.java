@@ -0,0 +1,97 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * LatencyRecorder.java
+ *
+ * Records the latency of every request a simulated client makes
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps every sample so percentiles are exact, one recorder per client thread
+ * so recording never contends; recorders are merged when the run is over
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024]; // latencies in nanoseconds
+    private int count;
+    private long errors; // requests that failed or returned an unexpected status
+    /**
+     * Adds one successful request
+     *
+     * @param nanos latency of the request
+     */
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+    /**
+     * Adds one failed request
+     */
+    public void error() {
+        errors++;
+    }
+    /**
+     * Merges the recorders of all clients of one kind
+     *
+     * @param recorders recorders of the clients, no longer being written to
+     * @return percentiles and counts over all of them
+     */
+    public static Summary summarize(List<LatencyRecorder> recorders) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, at, recorder.count);
+            at += recorder.count;
+        }
+        Arrays.sort(all);
+        return new Summary(total, errors, percentile(all, 0.50), percentile(all, 0.99),
+                percentile(all, 0.999), total == 0 ? 0 : all[total - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * Latency summary of one kind of client
+     */
+    public static class Summary {
+
+        public final long requests;
+        public final long errors;
+        public final long p50Nanos;
+        public final long p99Nanos;
+        public final long p999Nanos;
+        public final long maxNanos;
+
+        Summary(long requests, long errors, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.requests = requests;
+            this.errors = errors;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * LoadRun.java
+ *
+ * Phases of one load test run, shared by all simulated clients
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+/**
+ * A run warms up, then measures, then is over
+ */
+public class LoadRun {
+
+    private volatile boolean measuring;
+    private volatile boolean over;
+
+    public boolean isMeasuring() {
+        return measuring;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+    /**
+     * Ends the warm up, requests from now on are recorded
+     */
+    public void startMeasuring() {
+        measuring = true;
+    }
+    /**
+     * Ends the run, clients stop after their current request
+     */
+    public void end() {
+        measuring = false;
+        over = true;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * LoadTest.java
+ *
+ * Entry point of the end-to-end load test: starts the application in
+ * embedded GlassFish, seeds the world, runs the game and drives it with
+ * simulated readers, writers and subscribers
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Options are given as --name=value:
+ * --war, --port, --sliders, --readers, --writers, --subscribers, --motions (motion subscribers),
+ * --warmup and --duration (seconds), --report (JSON file),
+ * --clientRate (requests per second per client address, 0 for no limit),
+ * --readRate and --writeRate (requests per second each reader and writer sends on a fixed schedule,
+ * 0 to send each request when the previous one is answered, see SimulatedClient)
+ * --conformance=true runs MotionConformance instead of the load test
+ */
+public final class LoadTest {
+
+    // path of SliderFacadeREST under the JAX-RS application
+    public static final String FACADE_PATH = "cst8218.andrianna.slider.entity.slider";
+    // system property SliderGame reads to start the loop on deployment
+    static final String AUTOSTART_PROPERTY = "slider.game.autostart";
+    // system property AdmissionFilter reads for the per-client rate
+    static final String RATE_PROPERTY = "slider.admission.rate";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private LoadTest() {
+    }
+    /**
+     * Runs the load test and exits, with status 1 if it failed
+     * or with --conformance=true the motion check, with status 1 if a frame did not match
+     *
+     * @param args options as --name=value
+     */
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            Map<String, String> options = parse(args);
+            if (Boolean.parseBoolean(options.get("conformance"))) {
+                status = MotionConformance.run(options) ? 0 : 1;
+            } else {
+                run(options);
+            }
+        } catch (Exception exception) {
+            exception.printStackTrace();
+            status = 1;
+        }
+        // embedded GlassFish leaves non daemon threads behind
+        System.exit(status);
+    }
+    /**
+     * Runs the load test and prints the report
+     *
+     * @param options parsed command line options
+     * @throws Exception if the server cannot start or the run fails
+     */
+    private static void run(Map<String, String> options) throws Exception {
+        Path war = Paths.get(options.getOrDefault("war", "../slider/target/slider-1.0-SNAPSHOT.war"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int sliders = Integer.parseInt(options.getOrDefault("sliders", "1000"));
+        Map<SimulatedClient.Kind, Integer> mix = new EnumMap<>(SimulatedClient.Kind.class);
+        mix.put(SimulatedClient.Kind.READER, Integer.parseInt(options.getOrDefault("readers", "8")));
+        mix.put(SimulatedClient.Kind.WRITER, Integer.parseInt(options.getOrDefault("writers", "2")));
+        mix.put(SimulatedClient.Kind.SUBSCRIBER, Integer.parseInt(options.getOrDefault("subscribers", "8")));
+        mix.put(SimulatedClient.Kind.MOTIONS, Integer.parseInt(options.getOrDefault("motions", "0")));
+        // open loop by default, so a stall shows up in the latency of every request it delays
+        Map<SimulatedClient.Kind, Double> rates = new EnumMap<>(SimulatedClient.Kind.class);
+        rates.put(SimulatedClient.Kind.READER, Double.parseDouble(options.getOrDefault("readRate", "5")));
+        rates.put(SimulatedClient.Kind.WRITER, Double.parseDouble(options.getOrDefault("writeRate", "2")));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        Path report = Paths.get(options.getOrDefault("report", "slider-loadtest.json"));
+        // every simulated client connects from the same address, so no per-client limit by default
+        String clientRate = options.getOrDefault("clientRate", "0");
+
+        System.setProperty(AUTOSTART_PROPERTY, "true");
+        System.setProperty(RATE_PROPERTY, clientRate);
+        try (EmbeddedServer server = new EmbeddedServer(war, port)) {
+            URI resources = URI.create("http://localhost:" + port + "/" + EmbeddedServer.CONTEXT_ROOT + "/resources/");
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newCachedThreadPool())
+                    .build();
+
+            System.out.println("Seeding " + sliders + " sliders");
+            List<Long> ids = seed(http, resources, sliders);
+
+            LoadRun run = new LoadRun();
+            List<SimulatedClient> clients = new ArrayList<>();
+            long seed = 1;
+            for (Map.Entry<SimulatedClient.Kind, Integer> kind : mix.entrySet()) {
+                for (int i = 0; i < kind.getValue(); i++) {
+                    clients.add(new SimulatedClient(kind.getKey(), http, resources, ids, run, seed++,
+                            rates.getOrDefault(kind.getKey(), 0.0)));
+                }
+            }
+            ExecutorService threads = Executors.newFixedThreadPool(Math.max(1, clients.size()));
+            List<Future<?>> running = new ArrayList<>();
+            for (SimulatedClient client : clients) {
+                running.add(threads.submit(client));
+            }
+
+            System.out.println("Warming up for " + warmup + "s with " + mix);
+            TimeUnit.SECONDS.sleep(warmup);
+            String statsBefore = get(http, resources.resolve("game/stats"));
+            run.startMeasuring();
+            long start = System.nanoTime();
+            System.out.println("Measuring for " + duration + "s");
+            TimeUnit.SECONDS.sleep(duration);
+            run.end();
+            long elapsed = System.nanoTime() - start;
+            String statsAfter = get(http, resources.resolve("game/stats"));
+            for (Future<?> client : running) {
+                client.get();
+            }
+            threads.shutdown();
+
+            Map<SimulatedClient.Kind, LatencyRecorder.Summary> summaries = new EnumMap<>(SimulatedClient.Kind.class);
+            for (SimulatedClient.Kind kind : mix.keySet()) {
+                List<LatencyRecorder> recorders = new ArrayList<>();
+                for (SimulatedClient client : clients) {
+                    if (client.getKind() == kind) {
+                        recorders.add(client.getRecorder());
+                    }
+                }
+                summaries.put(kind, LatencyRecorder.summarize(recorders));
+            }
+            FrameLateness frames = new FrameLateness(statsBefore, statsAfter);
+            print(summaries, rates, frames, elapsed);
+            Files.write(report, json(sliders, mix, rates, summaries, frames, elapsed).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Report written to " + report.toAbsolutePath());
+        }
+    }
+    /**
+     * Creates the world through SliderFacadeREST
+     *
+     * @return ids of the created sliders
+     */
+    static List<Long> seed(HttpClient http, URI resources, int count) throws IOException, InterruptedException {
+        Random random = new Random(8218);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(resources.resolve(FACADE_PATH))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(sliderJson(null, random))).build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            Matcher id = ID.matcher(response.body());
+            if (response.statusCode() != 201 || !id.find()) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            ids.add(Long.valueOf(id.group(1)));
+        }
+        return Collections.unmodifiableList(ids);
+    }
+    /**
+     * A random valid slider as JSON
+     *
+     * @param id id to put in the body, null for none
+     * @param random source of the field values
+     * @return the slider as JSON
+     */
+    static String sliderJson(Long id, Random random) {
+        int maxTravel = 1 + random.nextInt(200);
+        return String.format(Locale.ROOT,
+                "{%s\"x\":%d,\"y\":%d,\"size\":%d,\"maxTravel\":%d,\"currentTravel\":%d,\"mvtDirection\":%d,\"dirChangeCount\":%d}",
+                id == null ? "" : "\"id\":" + id + ",",
+                random.nextInt(1001), random.nextInt(1001), 1 + random.nextInt(100), maxTravel,
+                random.nextInt(maxTravel), random.nextBoolean() ? 1 : -1, random.nextInt(10));
+    }
+
+    private static String get(HttpClient http, URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "application/json").GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options are given as --name=value, not " + arg);
+            }
+            int equals = arg.indexOf('=');
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static void print(Map<SimulatedClient.Kind, LatencyRecorder.Summary> summaries,
+            Map<SimulatedClient.Kind, Double> rates, FrameLateness frames, long elapsed) {
+        double seconds = elapsed / 1e9;
+        System.out.printf(Locale.ROOT, "%-11s %-12s %10s %10s %8s %10s %10s %10s %10s%n",
+                "client", "loop", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<SimulatedClient.Kind, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            double rate = rates.getOrDefault(entry.getKey(), 0.0);
+            String loop = rate > 0 ? String.format(Locale.ROOT, "open %.1f/s", rate) : "closed";
+            System.out.printf(Locale.ROOT, "%-11s %-12s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), loop, s.requests, s.requests / seconds, s.errors,
+                    s.p50Nanos / 1e6, s.p99Nanos / 1e6, s.p999Nanos / 1e6, s.maxNanos / 1e6);
+        }
+        System.out.println("open loop latency is from the time a request was due,"
+                + " closed loop latency hides the requests a stall delayed");
+        System.out.printf(Locale.ROOT, "frames %d (%.1f/s of %d), late %d, mean lateness %.2f ms, max lateness %.2f ms%n",
+                frames.ticks, frames.ticks / seconds, SimulatedClient.FRAME_RATE, frames.lateFrames,
+                frames.meanLatenessMillis(), frames.maxLatenessMicros / 1e3);
+    }
+
+    private static String json(int sliders, Map<SimulatedClient.Kind, Integer> mix, Map<SimulatedClient.Kind, Double> rates,
+            Map<SimulatedClient.Kind, LatencyRecorder.Summary> summaries, FrameLateness frames, long elapsed) {
+        double seconds = elapsed / 1e9;
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT, "{\"sliders\":%d,\"durationSeconds\":%.3f,\"clients\":[", sliders, seconds));
+        String separator = "";
+        for (Map.Entry<SimulatedClient.Kind, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            json.append(separator).append(String.format(Locale.ROOT,
+                    "{\"kind\":\"%s\",\"count\":%d,\"scheduledRatePerSecond\":%.3f,\"requests\":%d,\"errors\":%d,\"throughputPerSecond\":%.3f,"
+                    + "\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"maxMillis\":%.3f}",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), mix.get(entry.getKey()),
+                    rates.getOrDefault(entry.getKey(), 0.0), s.requests, s.errors,
+                    s.requests / seconds, s.p50Nanos / 1e6, s.p99Nanos / 1e6, s.p999Nanos / 1e6, s.maxNanos / 1e6));
+            separator = ",";
+        }
+        json.append(String.format(Locale.ROOT,
+                "],\"frames\":{\"ticks\":%d,\"ticksPerSecond\":%.3f,\"lateFrames\":%d,"
+                + "\"meanLatenessMillis\":%.3f,\"maxLatenessMillis\":%.3f}}%n",
+                frames.ticks, frames.ticks / seconds, frames.lateFrames,
+                frames.meanLatenessMillis(), frames.maxLatenessMicros / 1e3));
+        return json.toString();
+    }
+
+    /**
+     * Frame lateness during the measured part of the run, from two GET /game/stats
+     */
+    private static class FrameLateness {
+
+        final long ticks;
+        final long lateFrames;
+        final long totalLatenessMicros;
+        final long maxLatenessMicros; // since startup, the server keeps only the maximum
+
+        FrameLateness(String before, String after) {
+            ticks = field(after, "tick") - field(before, "tick");
+            lateFrames = field(after, "lateFrames") - field(before, "lateFrames");
+            totalLatenessMicros = field(after, "totalLatenessMicros") - field(before, "totalLatenessMicros");
+            maxLatenessMicros = field(after, "maxLatenessMicros");
+        }
+
+        double meanLatenessMillis() {
+            return lateFrames == 0 ? 0 : totalLatenessMicros / 1e3 / lateFrames;
+        }
+
+        private static long field(String json, String name) {
+            Matcher value = Pattern.compile("\"" + name + "\"\\s*:\\s*(\\d+)").matcher(json);
+            if (!value.find()) {
+                throw new IllegalStateException("GET /game/stats has no " + name + ": " + json);
+            }
+            return Long.parseLong(value.group(1));
+        }
+    }
+}
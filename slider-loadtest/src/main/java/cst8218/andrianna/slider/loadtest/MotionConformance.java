@@ -0,0 +1,259 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * MotionConformance.java
+ *
+ * Checks that a client following GET /sliders/motion computes the same frames
+ * as the server, by comparing its extrapolation with the frames the game publishes
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs in three parts, every frame received is compared slider by slider with the model:
+ * the running game with no writes, frames following each other;
+ * the paused game stepped after random REST writes, so the motions sent for them are checked;
+ * the running game again, far from the base ticks of the motions.
+ * Run with java -jar target/slider-loadtest.jar --conformance=true, the other options are
+ * --war, --port, --sliders, --seconds (of each running part) and --rounds (of writes while paused)
+ */
+public final class MotionConformance {
+
+    private static final String BINARY = "application/x-slider";
+    private static final String TICK_HEADER = "X-Slider-Tick";
+    // values of a SliderBinary record after the id
+    private static final String[] FIELDS = {"x", "y", "size", "maxTravel", "currentTravel", "mvtDirection", "dirChangeCount"};
+    // mismatches printed before the rest are only counted
+    private static final int PRINTED = 10;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final URI resources;
+    private final MotionModel model = new MotionModel();
+    private final Random random = new Random(8218);
+    private final List<Long> ids;
+    private long frames;
+    private long compared;
+    private long mismatches;
+    private long frameBytes;
+    private long motionBytes;
+    private long motionUpdates;
+
+    private MotionConformance(URI resources, List<Long> ids) {
+        this.resources = resources;
+        this.ids = new ArrayList<>(ids);
+    }
+    /**
+     * Runs the check and prints the result
+     *
+     * @param options parsed command line options
+     * @return true if every frame matched the extrapolated motions
+     * @throws Exception if the server cannot start or a request fails
+     */
+    static boolean run(Map<String, String> options) throws Exception {
+        Path war = Paths.get(options.getOrDefault("war", "../slider/target/slider-1.0-SNAPSHOT.war"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int sliders = Integer.parseInt(options.getOrDefault("sliders", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "5"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "100"));
+
+        System.setProperty(LoadTest.AUTOSTART_PROPERTY, "true");
+        System.setProperty(LoadTest.RATE_PROPERTY, "0");
+        try (EmbeddedServer server = new EmbeddedServer(war, port)) {
+            URI resources = URI.create("http://localhost:" + port + "/" + EmbeddedServer.CONTEXT_ROOT + "/resources/");
+            System.out.println("Seeding " + sliders + " sliders");
+            HttpClient seeding = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            MotionConformance check = new MotionConformance(resources, LoadTest.seed(seeding, resources, sliders));
+            check.followRunning(seconds);
+            check.stepWrites(rounds);
+            check.followRunning(seconds);
+            check.print();
+            return check.mismatches == 0 && check.frames > 0;
+        }
+    }
+    /**
+     * Compares the frames of the running game, the motions only change if something else writes
+     */
+    private void followRunning(int seconds) throws IOException, InterruptedException {
+        send("POST", "game/resume");
+        updateMotions();
+        System.out.println("Following the running game for " + seconds + "s from tick " + model.getTick());
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long last = model.getTick();
+        while (System.nanoTime() < end) {
+            HttpResponse<byte[]> frame = get("sliders/next?after=" + last, BINARY);
+            if (frame.statusCode() == 200) {
+                last = tick(frame);
+                updateMotions();
+                compare(frame, last);
+            }
+        }
+    }
+    /**
+     * Pauses the game, then in every round writes through REST, steps and compares the stepped frame
+     */
+    private void stepWrites(int rounds) throws IOException, InterruptedException {
+        send("POST", "game/pause");
+        System.out.println("Stepping the paused game through " + rounds + " rounds of writes");
+        for (int round = 0; round < rounds; round++) {
+            int writes = random.nextInt(4); // some rounds only step
+            for (int i = 0; i < writes; i++) {
+                write();
+            }
+            int steps = 1 + random.nextInt(3);
+            for (int i = 0; i < steps; i++) {
+                HttpResponse<String> step = send("POST", "game/step");
+                if (step.statusCode() != 200) {
+                    throw new IllegalStateException("POST game/step failed with " + step.statusCode() + ": " + step.body());
+                }
+            }
+            // the stepped frame has applied every write, so GET /sliders serves it
+            HttpResponse<byte[]> frame = get("sliders", BINARY);
+            updateMotions();
+            compare(frame, tick(frame));
+        }
+    }
+    /**
+     * One random write: an edit, a create or a delete, sometimes with values at the limits
+     */
+    private void write() throws IOException, InterruptedException {
+        int kind = random.nextInt(10);
+        if (kind == 0 && ids.size() > 1) {
+            long id = ids.remove(random.nextInt(ids.size()));
+            expect(send("DELETE", "sliders/" + id), 204);
+        } else if (kind <= 2) {
+            HttpResponse<String> created = send("POST", "sliders", body(null));
+            Matcher id = ID.matcher(created.body());
+            if (created.statusCode() != 201 || !id.find()) {
+                throw new IllegalStateException("POST sliders failed with " + created.statusCode() + ": " + created.body());
+            }
+            ids.add(Long.valueOf(id.group(1)));
+        } else {
+            long id = ids.get(random.nextInt(ids.size()));
+            expect(send("PUT", "sliders/" + id, body(id)), 200);
+        }
+    }
+
+    private String body(Long id) {
+        if (random.nextInt(4) > 0) {
+            return LoadTest.sliderJson(id, random);
+        }
+        // wears down in a few ticks, or starts past maxTravel
+        int maxTravel = 1 + random.nextInt(3);
+        return String.format(Locale.ROOT,
+                "{%s\"x\":%d,\"y\":%d,\"size\":%d,\"maxTravel\":%d,\"currentTravel\":%d,\"mvtDirection\":%d,\"dirChangeCount\":%d}",
+                id == null ? "" : "\"id\":" + id + ",", random.nextInt(1001), random.nextInt(1001),
+                1 + random.nextInt(100), maxTravel, random.nextInt(41) - 20, random.nextBoolean() ? 1 : -1,
+                random.nextInt(10));
+    }
+    /**
+     * Brings the model up to the current frame with the motions changed since its tick
+     */
+    private void updateMotions() throws IOException, InterruptedException {
+        HttpResponse<String> motions = send("GET", "sliders/motion?after=" + model.getTick());
+        expect(motions, 200);
+        motionBytes += motions.body().length();
+        if (model.apply(motions.body()) > 0) {
+            motionUpdates++;
+        }
+    }
+    /**
+     * Compares every slider of a SliderBinary frame with the model at the frame's tick
+     */
+    private void compare(HttpResponse<byte[]> response, long tick) {
+        expect(response, 200);
+        frames++;
+        frameBytes += response.body().length;
+        ByteBuffer frame = ByteBuffer.wrap(response.body()).order(ByteOrder.LITTLE_ENDIAN);
+        int count = frame.getInt();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            long id = frame.getLong();
+            int[] server = new int[FIELDS.length];
+            for (int field = 0; field < FIELDS.length; field++) {
+                server[field] = frame.getInt();
+            }
+            seen.add(id);
+            compared++;
+            int[] client = model.stateAt(id, tick);
+            if (!Arrays.equals(server, client)) {
+                mismatch("tick " + tick + " slider " + id + ": server " + Arrays.toString(server)
+                        + ", extrapolated " + Arrays.toString(client));
+            }
+        }
+        for (Long id : model.ids()) {
+            if (!seen.contains(id)) {
+                mismatch("tick " + tick + " slider " + id + " has a motion but is not in the frame");
+            }
+        }
+    }
+
+    private void mismatch(String message) {
+        if (mismatches++ < PRINTED) {
+            System.out.println("MISMATCH " + message);
+        }
+    }
+
+    private void print() {
+        System.out.printf(Locale.ROOT, "frames %d, sliders compared %d, mismatches %d%n", frames, compared, mismatches);
+        System.out.printf(Locale.ROOT, "frame bytes %d, motion bytes %d in %d updates with changes%n",
+                frameBytes, motionBytes, motionUpdates);
+        System.out.println(mismatches == 0 ? "Extrapolated motions match every frame" : "Extrapolation does not match");
+    }
+
+    private static long tick(HttpResponse<?> response) {
+        return response.headers().firstValueAsLong(TICK_HEADER)
+                .orElseThrow(() -> new IllegalStateException("No " + TICK_HEADER + " on " + response.uri()));
+    }
+
+    private static void expect(HttpResponse<?> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " returned " + response.statusCode() + " instead of " + status);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(resources.resolve(path)).header("Accept", accept).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<String> send(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(resources.resolve(path)).header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(resources.resolve(path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json)).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
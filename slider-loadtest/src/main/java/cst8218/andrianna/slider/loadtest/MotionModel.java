@@ -0,0 +1,154 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * MotionModel.java
+ *
+ * What a client keeps from GET /sliders/motion: the last motion of each slider,
+ * stepped locally to any later tick with the rules sent along with it
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Written from the rules in the SliderMotions response, not from the server's classes,
+ * so comparing it with the server's frames checks that the motions describe them
+ */
+public class MotionModel {
+
+    // objects in the motions array have no nested objects
+    private static final Pattern MOTION = Pattern.compile("\\{[^{}]*\\}");
+
+    private final Map<Long, Motion> motions = new HashMap<>();
+    private long tick = -1; // tick the motions cover, -1 before the first response
+    private int travelSpeed;
+    private int maxDirChanges;
+    private int decreaseRate;
+    /**
+     * Applies a SliderMotions response in JSON
+     *
+     * @param json body of GET /sliders/motion or GET /sliders/motion/next
+     * @return number of motions in the response
+     */
+    public int apply(String json) {
+        int start = json.indexOf("\"motions\"");
+        int end = json.indexOf(']', start);
+        String envelope = json.substring(0, start) + json.substring(end + 1);
+        if (bool(envelope, "full")) {
+            motions.clear();
+        }
+        tick = number(envelope, "tick");
+        travelSpeed = (int) number(envelope, "travelSpeed");
+        maxDirChanges = (int) number(envelope, "maxDirChanges");
+        decreaseRate = (int) number(envelope, "decreaseRate");
+        int count = 0;
+        Matcher object = MOTION.matcher(json.substring(start, end));
+        while (object.find()) {
+            String motion = object.group();
+            long id = number(motion, "id");
+            if (bool(motion, "removed")) {
+                motions.remove(id);
+            } else {
+                motions.put(id, new Motion(motion));
+            }
+            count++;
+        }
+        return count;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Set<Long> ids() {
+        return motions.keySet();
+    }
+    /**
+     * State of a slider at a tick, stepped from its motion
+     *
+     * @param id id of the slider
+     * @param at tick of the frame, not before the motion's base tick
+     * @return x, y, size, maxTravel, currentTravel, mvtDirection, dirChangeCount
+     * in the order of a SliderBinary record, or null for an unknown id
+     */
+    public int[] stateAt(long id, long at) {
+        Motion motion = motions.get(id);
+        return motion == null ? null : motion.at(at);
+    }
+
+    /**
+     * Motion of one slider and how far it has been stepped, frames are asked for in tick order
+     */
+    private final class Motion {
+
+        private final long baseTick;
+        private final int[] base = new int[7];
+        private long tick; // tick of state
+        private final int[] state = new int[7];
+
+        Motion(String json) {
+            baseTick = number(json, "baseTick");
+            String[] fields = {"x", "y", "size", "maxTravel", "currentTravel", "mvtDirection", "dirChangeCount"};
+            for (int i = 0; i < fields.length; i++) {
+                base[i] = (int) number(json, fields[i]);
+            }
+            rewind();
+        }
+
+        int[] at(long at) {
+            if (at < baseTick) {
+                throw new IllegalArgumentException("Tick " + at + " is before the motion's base tick " + baseTick);
+            }
+            if (at < tick) {
+                rewind();
+            }
+            // nothing moves once maxTravel is worn down to 0
+            while (tick < at && state[3] > 0) {
+                step();
+                tick++;
+            }
+            tick = at;
+            return state.clone();
+        }
+
+        private void rewind() {
+            System.arraycopy(base, 0, state, 0, base.length);
+            tick = baseTick;
+        }
+        /**
+         * One time step: move, flip at maxTravel, and shorten maxTravel every maxDirChanges flips
+         */
+        private void step() {
+            state[4] += state[5] * travelSpeed;
+            if (Math.abs(state[4]) >= state[3]) {
+                state[5] = -state[5];
+                state[6]++;
+                if (state[6] >= maxDirChanges) {
+                    state[3] -= decreaseRate;
+                    state[6] = 0;
+                }
+            }
+        }
+    }
+
+    private static long number(String json, String name) {
+        Matcher value = Pattern.compile("\"" + name + "\"\\s*:\\s*(-?\\d+)").matcher(json);
+        if (!value.find()) {
+            throw new IllegalStateException("No " + name + " in " + json);
+        }
+        return Long.parseLong(value.group(1));
+    }
+
+    private static boolean bool(String json, String name) {
+        return Pattern.compile("\"" + name + "\"\\s*:\\s*true").matcher(json).find();
+    }
+}
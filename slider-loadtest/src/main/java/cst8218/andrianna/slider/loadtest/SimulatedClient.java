@@ -0,0 +1,201 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SimulatedClient.java
+ *
+ * One simulated user of the slider REST API, running on its own thread
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A client sends requests until the run ends, its latencies are recorded only while the run is measuring.
+ * Readers and writers given a rate send on a fixed schedule (open loop):
+ * latency is measured from the time a request was due, not from the time it was sent,
+ * so a stall that holds back the following requests counts against all of them.
+ * With rate 0, and always for subscribers that wait for the game, the next request
+ * is sent when the previous answer arrives (closed loop) and stalls are under-reported.
+ */
+public class SimulatedClient implements Runnable {
+
+    // frame rate of the game
+    public static final int FRAME_RATE = 60;
+    // header with the tick of the frame in a response
+    private static final String TICK_HEADER = "X-Slider-Tick";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * What the client does
+     */
+    public enum Kind {
+        // polls GET /sliders as fast as it can
+        READER,
+        // cycles through POST and PUT on both SliderController and SliderFacadeREST
+        WRITER,
+        // follows the game frame by frame with the GET /sliders/next long poll
+        SUBSCRIBER,
+        // follows the motions with the GET /sliders/motion/next long poll, answered only on writes
+        MOTIONS
+    }
+
+    private final Kind kind;
+    private final HttpClient http;
+    private final URI resources; // base URI of the JAX-RS application
+    private final List<Long> ids; // ids of the seeded sliders
+    private final LoadRun run;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Random random;
+    private final long interval; // nanoseconds between due times, 0 for a closed loop
+    private int nextWrite;
+    private long lastTick = -1; // tick of the last frame or motions a subscriber received
+    /**
+     * Creates a client
+     *
+     * @param kind what the client does
+     * @param http shared HTTP client
+     * @param resources base URI of the JAX-RS application
+     * @param ids ids of the seeded sliders that writers edit
+     * @param run the run the client takes part in
+     * @param seed seed of the client's random choices
+     * @param rate requests per second on a fixed schedule, 0 to send each one when the last is answered,
+     * ignored for subscribers
+     */
+    public SimulatedClient(Kind kind, HttpClient http, URI resources, List<Long> ids, LoadRun run, long seed,
+            double rate) {
+        this.kind = kind;
+        this.http = http;
+        this.resources = resources;
+        this.ids = ids;
+        this.run = run;
+        this.random = new Random(seed);
+        boolean scheduled = rate > 0 && (kind == Kind.READER || kind == Kind.WRITER);
+        this.interval = scheduled ? Math.max(1L, (long) (1e9 / rate)) : 0L;
+    }
+
+    public boolean isOpenLoop() {
+        return interval > 0;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+    /**
+     * Sends requests until the run is over
+     */
+    @Override
+    public void run() {
+        // clients start at random points of their interval so they do not send in step
+        long due = System.nanoTime() + (interval > 0 ? (long) (random.nextDouble() * interval) : 0L);
+        while (!run.isOver() && !Thread.currentThread().isInterrupted()) {
+            if (interval > 0) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+            } else {
+                due = System.nanoTime();
+            }
+            HttpResponse<Void> response = send(nextRequest(), due);
+            due += interval;
+            if (response != null) {
+                // a subscriber asks for the frame after the one it just got
+                response.headers().firstValueAsLong(TICK_HEADER).ifPresent(tick -> lastTick = tick);
+            }
+        }
+    }
+
+    private HttpRequest nextRequest() {
+        if (kind == Kind.SUBSCRIBER) {
+            return get("sliders/next?after=" + lastTick);
+        }
+        if (kind == Kind.MOTIONS) {
+            return get("sliders/motion/next?after=" + lastTick);
+        }
+        if (kind == Kind.READER) {
+            return get("sliders");
+        }
+        long id = ids.get(random.nextInt(ids.size()));
+        switch (nextWrite++ % 4) {
+            case 0: // SliderController.createSlider
+                return write("POST", "sliders", body(null));
+            case 1: // SliderController.editSlider
+                return write("PUT", "sliders/" + id, body(null));
+            case 2: // SliderFacadeREST.createPost of an existing slider
+                return write("POST", LoadTest.FACADE_PATH, body(id));
+            default: // SliderFacadeREST.editOrCreate
+                return write("PUT", LoadTest.FACADE_PATH + "/" + id, body(id));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(resources.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET().build();
+    }
+
+    private HttpRequest write(String method, String path, String json) {
+        return HttpRequest.newBuilder(resources.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+    /**
+     * A random valid slider as JSON
+     *
+     * @param id id to put in the body, null for none
+     * @return the request body
+     */
+    private String body(Long id) {
+        return LoadTest.sliderJson(id, random);
+    }
+
+    /**
+     * Sends the request and records its latency from the time it was due
+     * For subscribers the latency includes the wait for the next frame or motion change
+     *
+     * @param due System.nanoTime() the request was scheduled for, at or before now
+     * @return the response, or null if the request failed
+     */
+    private HttpResponse<Void> send(HttpRequest request, long due) {
+        HttpResponse<Void> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException exception) {
+            response = null;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long latency = System.nanoTime() - due;
+        boolean ok = response != null && response.statusCode() / 100 == 2;
+        if (run.isMeasuring()) {
+            if (ok) {
+                recorder.record(latency);
+            } else {
+                recorder.error();
+            }
+        }
+        return ok ? response : null;
+    }
+}
@@ -12,16 +12,20 @@
  */
 package cst8218.andrianna.slider.entity;
 
+import jakarta.json.bind.annotation.JsonbTransient;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
 import java.io.Serializable;
 
 /**
@@ -32,7 +36,16 @@ import java.io.Serializable;
 @XmlRootElement // allows for xml
 @Table(name = "slider")
 @NamedQueries({
-    @NamedQuery(name = "Slider.findAll", query = "SELECT s FROM Slider s")})
+    @NamedQuery(name = "Slider.findAll", query = "SELECT s FROM Slider s"),
+    // sliders written through REST after a time, used by the game to reconcile its checkpoint
+    @NamedQuery(name = "Slider.findModifiedSince", query = "SELECT s FROM Slider s WHERE s.lastModified > :since"),
+    @NamedQuery(name = "Slider.findByIds", query = "SELECT s FROM Slider s WHERE s.id IN :ids"),
+    // writes only what timeStep changes, used by the game to save the world,
+    // and skips rows written through REST after the frame so their new values are not mixed with its motion
+    @NamedQuery(name = "Slider.updateMotion", query = "UPDATE Slider s SET s.maxTravel = :maxTravel,"
+            + " s.currentTravel = :currentTravel, s.mvtDirection = :mvtDirection,"
+            + " s.dirChangeCount = :dirChangeCount WHERE s.id = :id"
+            + " AND (s.lastModified IS NULL OR s.lastModified <= :capturedAt)")})
 public class Slider implements Serializable {
     
     // constants for slider's behavour and limits
@@ -78,6 +91,9 @@ public class Slider implements Serializable {
     private int currentTravel = 0;
     private int dirChangeCount = 0; // counts how many direction changes
     private int mvtDirection = 1; // 1 for right -1 for left
+    // time of the last REST write in milliseconds, saving the motion does not change it
+    @JsonbTransient // internal, not part of the REST representations
+    private Long lastModified;
     @XmlElement
     
     // getters and setters for slider properties
@@ -157,6 +173,24 @@ public class Slider implements Serializable {
         this.dirChangeCount = dirChangeCount;
     }
     
+    @XmlTransient // internal, not part of the REST representations
+    public Long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Long lastModified) {
+        this.lastModified = lastModified;
+    }
+    /**
+     * Stamps every insert and update through the EntityManager,
+     * the bulk motion update of the game bypasses it
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModified = System.currentTimeMillis();
+    }
+    
     /**
      * Updates the sliders position and behaviour in one time step
      * The slider will move based on direction and speed
@@ -178,6 +212,21 @@ public class Slider implements Serializable {
             }
         }
     }
+    /**
+     * Sets the fields that timeStep changes, exactly as the game saved them
+     * Unlike setMaxTravel it keeps a maxTravel that timeStep has worn down to 0
+     * 
+     * @param maxTravel max distance before direction change
+     * @param currentTravel distance traveled in the current direction
+     * @param mvtDirection 1 for right -1 for left
+     * @param dirChangeCount direction changes since maxTravel was last reduced
+     */
+    public void restoreMotion(int maxTravel, int currentTravel, int mvtDirection, int dirChangeCount) {
+        this.maxTravel = maxTravel;
+        this.currentTravel = currentTravel;
+        this.mvtDirection = mvtDirection;
+        this.dirChangeCount = dirChangeCount;
+    }
     /**
      * Updates the current slider with values of another slider
      * @param newSlider instance for the newSlider values
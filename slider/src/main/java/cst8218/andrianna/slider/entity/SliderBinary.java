@@ -0,0 +1,127 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderBinary.java
+ *
+ * Compact binary form of Slider: fixed-width little-endian records of the
+ * id and the seven int fields, preceded by a record count
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a payload:
+ * int32 count, then count records of
+ * int64 id (0 when the slider has no id yet), int32 x, y, size, maxTravel,
+ * currentTravel, mvtDirection, dirChangeCount
+ * All values are little-endian
+ */
+public final class SliderBinary {
+
+    // media type of the binary payloads
+    public static final String MEDIA_TYPE = "application/x-slider";
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    // size of the record count in front of the records
+    public static final int HEADER_BYTES = Integer.BYTES;
+    // size of one slider record
+    public static final int RECORD_BYTES = Long.BYTES + 7 * Integer.BYTES;
+
+    private SliderBinary() {
+    }
+    /**
+     * Writes one slider record at the buffer's position
+     *
+     * @param buffer little-endian buffer with at least RECORD_BYTES remaining
+     * @param slider slider to write
+     */
+    public static void write(ByteBuffer buffer, Slider slider) {
+        Long id = slider.getId();
+        buffer.putLong(id == null ? 0L : id);
+        buffer.putInt(slider.getX());
+        buffer.putInt(slider.getY());
+        buffer.putInt(slider.getSize());
+        buffer.putInt(slider.getMaxTravel());
+        buffer.putInt(slider.getCurrentTravel());
+        buffer.putInt(slider.getMvtDirection());
+        buffer.putInt(slider.getDirChangeCount());
+    }
+    /**
+     * Reads one slider record from the buffer's position
+     * Goes through the setters, so values outside the limits are ignored like in update()
+     *
+     * @param buffer little-endian buffer with at least RECORD_BYTES remaining
+     * @return new slider with the record's values
+     */
+    public static Slider read(ByteBuffer buffer) {
+        Slider slider = new Slider();
+        long id = buffer.getLong();
+        slider.setId(id == 0L ? null : id);
+        slider.setX(buffer.getInt());
+        slider.setY(buffer.getInt());
+        slider.setSize(buffer.getInt());
+        slider.setMaxTravel(buffer.getInt());
+        slider.setCurrentTravel(buffer.getInt());
+        slider.setMvtDirection(buffer.getInt());
+        slider.setDirChangeCount(buffer.getInt());
+        return slider;
+    }
+    /**
+     * Reads one record that the server wrote itself, e.g. in a checkpoint
+     * Values are kept exactly, including a maxTravel that timeStep has worn down to 0
+     *
+     * @param buffer little-endian buffer with at least RECORD_BYTES remaining
+     * @return new slider with the record's values
+     */
+    public static Slider restore(ByteBuffer buffer) {
+        Slider slider = new Slider();
+        long id = buffer.getLong();
+        slider.setId(id == 0L ? null : id);
+        slider.setX(buffer.getInt());
+        slider.setY(buffer.getInt());
+        slider.setSize(buffer.getInt());
+        slider.restoreMotion(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        return slider;
+    }
+    /**
+     * Where a field is within a record, the id is an int64 and the others int32
+     *
+     * @param field field of the slider
+     * @return offset from the start of the record, in bytes
+     */
+    public static int offset(SliderField field) {
+        switch (field) {
+            case ID:
+                return 0;
+            case X:
+                return Long.BYTES;
+            case Y:
+                return Long.BYTES + Integer.BYTES;
+            case SIZE:
+                return Long.BYTES + 2 * Integer.BYTES;
+            case MAX_TRAVEL:
+                return Long.BYTES + 3 * Integer.BYTES;
+            case CURRENT_TRAVEL:
+                return Long.BYTES + 4 * Integer.BYTES;
+            case MVT_DIRECTION:
+                return Long.BYTES + 5 * Integer.BYTES;
+            default: // DIR_CHANGE_COUNT
+                return Long.BYTES + 6 * Integer.BYTES;
+        }
+    }
+    /**
+     * Size of a payload of the given number of sliders
+     *
+     * @param count number of records
+     * @return header plus records, in bytes
+     */
+    public static long payloadBytes(int count) {
+        return HEADER_BYTES + (long) count * RECORD_BYTES;
+    }
+}
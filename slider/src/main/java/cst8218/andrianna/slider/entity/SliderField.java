@@ -0,0 +1,101 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderField.java
+ *
+ * The persistent fields of Slider that a client can select with ?fields=
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.entity;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One constant per Slider attribute, named as in JSON, XML and JPQL
+ */
+public enum SliderField {
+    ID("id"),
+    X("x"),
+    Y("y"),
+    SIZE("size"),
+    MAX_TRAVEL("maxTravel"),
+    CURRENT_TRAVEL("currentTravel"),
+    MVT_DIRECTION("mvtDirection"),
+    DIR_CHANGE_COUNT("dirChangeCount");
+
+    private final String attribute; // attribute name of the entity
+
+    SliderField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+    /**
+     * Parses a comma separated list such as "id,x,y,size"
+     * Duplicates are dropped and the fields come back in declaration order
+     *
+     * @param fields the list given by the client
+     * @return the selected fields, never empty
+     * @throws IllegalArgumentException if a name is unknown or nothing is selected
+     */
+    public static Set<SliderField> parse(String fields) {
+        Set<SliderField> selected = EnumSet.noneOf(SliderField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(of(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected, expected some of " + names());
+        }
+        return selected;
+    }
+    /**
+     * Field with the given attribute name
+     *
+     * @param attribute name as in JSON, e.g. maxTravel
+     * @return the field
+     * @throws IllegalArgumentException if no field has that name
+     */
+    public static SliderField of(String attribute) {
+        for (SliderField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + attribute + "', expected some of " + names());
+    }
+    /**
+     * Attribute names of the given fields, in the same order
+     *
+     * @param fields selected fields
+     * @return their attribute names
+     */
+    public static String[] attributes(Set<SliderField> fields) {
+        String[] attributes = new String[fields.size()];
+        int i = 0;
+        for (SliderField field : fields) {
+            attributes[i++] = field.attribute;
+        }
+        return attributes;
+    }
+
+    private static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (SliderField field : values()) {
+            names.add(field.attribute);
+        }
+        return names;
+    }
+}
@@ -16,12 +16,16 @@
 
 package cst8218.andrianna.slider.game;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 
 /**
  * Generic abstract class with basic CRUD operations for the enetities in the database
@@ -118,5 +122,33 @@ public abstract class AbstractFacade<T> {
         Query q = getEntityManager().createQuery(cq);
         return ((Long) q.getSingleResult()).intValue(); // convert long to int
     }
+    /**
+     * Selects only the given attributes of all entities
+     * 
+     * @param attributes names of the attributes to select
+     * @return one tuple per entity
+     */
+    public List<Tuple> findAllProjection(String[] attributes) {
+        return projectionQuery(attributes).getResultList();
+    }
+    /**
+     * Tuple query selecting the attributes of every entity
+     */
+    private TypedQuery<Tuple> projectionQuery(String[] attributes) {
+        CriteriaQuery<Tuple> cq = getEntityManager().getCriteriaBuilder().createTupleQuery();
+        Root<T> rt = cq.from(entityClass);
+        cq.multiselect(selections(rt, attributes));
+        return getEntityManager().createQuery(cq);
+    }
+    /**
+     * One path per attribute, aliased by name so tuples can be read with get(name)
+     */
+    private List<Selection<?>> selections(Root<T> rt, String[] attributes) {
+        List<Selection<?>> selections = new ArrayList<>(attributes.length);
+        for (String attribute : attributes) {
+            selections.add(rt.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * GameStats.java
+ *
+ * Snapshot of the game loop counters, returned by GET /game/stats
+ * so load tests can tell how well the loop keeps up with CHANGE_RATE
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Counters of the game loop at one point in time
+ * A frame is late when it starts more than one frame period after the previous one
+ */
+@XmlRootElement // allows for xml
+public class GameStats {
+
+    private boolean running; // true once the loop has been started
+    private boolean paused; // true between POST /game/pause and POST /game/resume
+    private long tick; // frames completed since startup
+    private long lateFrames; // frames that started late
+    private long totalLatenessMicros; // sum of the lateness of all late frames
+    private long maxLatenessMicros; // worst lateness of a single frame
+
+    // getters and setters for the counters
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    public void setLateFrames(long lateFrames) {
+        this.lateFrames = lateFrames;
+    }
+
+    public long getTotalLatenessMicros() {
+        return totalLatenessMicros;
+    }
+
+    public void setTotalLatenessMicros(long totalLatenessMicros) {
+        this.totalLatenessMicros = totalLatenessMicros;
+    }
+
+    public long getMaxLatenessMicros() {
+        return maxLatenessMicros;
+    }
+
+    public void setMaxLatenessMicros(long maxLatenessMicros) {
+        this.maxLatenessMicros = maxLatenessMicros;
+    }
+}
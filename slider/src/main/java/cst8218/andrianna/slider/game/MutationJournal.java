@@ -0,0 +1,458 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * MutationJournal.java
+ *
+ * Append-only record of the REST writes the game applied, each tagged with its tick
+ * A checkpoint plus the journal after it rebuilds the world at any later tick,
+ * because Slider.timeStep() does the same thing every time
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * The journal is a series of segment files named slider-journal-(first tick).log,
+ * a new one is started whenever the world is checkpointed.
+ * Records are written by commit and forced to disk by flush, which runs on another thread,
+ * so the game thread never waits for the disk.
+ * Layout of a record, all values little-endian:
+ * int32 kind (SAVE or REMOVE), int64 tick, SliderBinary record (only the id for REMOVE),
+ * int32 CRC-32 of the previous bytes
+ */
+public final class MutationJournal implements Closeable {
+
+    // kinds of record
+    public static final int SAVE = 1;
+    public static final int REMOVE = 2;
+    // size of one record
+    public static final int RECORD_BYTES = Integer.BYTES + Long.BYTES + SliderBinary.RECORD_BYTES + Integer.BYTES;
+    private static final String PREFIX = "slider-journal-";
+    private static final String SUFFIX = ".log";
+    // records buffered before the first write of a tick grows the buffer
+    private static final int INITIAL_RECORDS = 256;
+
+    private final Path directory;
+    private volatile FileChannel channel; // current segment
+    private ByteBuffer pending = newBuffer(INITIAL_RECORDS); // records of the tick, not written yet
+    // records written to the current segment since its last force
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // segments replaced by start, forced and closed by the next flush
+    private final Queue<FileChannel> retired = new ConcurrentLinkedQueue<>();
+    /**
+     * Journal in a directory, no segment is open until start is called
+     *
+     * @param directory directory of the segment files
+     */
+    public MutationJournal(Path directory) {
+        this.directory = directory;
+    }
+    /**
+     * Starts a new segment, the current one is forced and closed by the next flush
+     * Records of earlier ticks stay in the older segments until they are deleted
+     *
+     * @param firstTick first tick the segment will hold records for
+     * @throws IOException if the segment cannot be created
+     */
+    public void start(long firstTick) throws IOException {
+        pending.clear();
+        if (channel != null) {
+            retired.add(channel);
+            channel = null;
+        }
+        Files.createDirectories(directory);
+        channel = FileChannel.open(segment(directory, firstTick), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    /**
+     * Adds a change to the records of the tick, nothing is written until commit
+     *
+     * @param tick tick the change was applied in
+     * @param change the change
+     */
+    void append(long tick, WorldChange change) {
+        if (pending.remaining() < RECORD_BYTES) {
+            ByteBuffer larger = newBuffer(pending.capacity() / RECORD_BYTES * 2);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        int start = pending.position();
+        if (change.getSlider() == null) {
+            pending.putInt(REMOVE);
+            pending.putLong(tick);
+            pending.putLong(change.getId());
+            // no slider values to keep
+            for (int i = Long.BYTES; i < SliderBinary.RECORD_BYTES; i += Integer.BYTES) {
+                pending.putInt(0);
+            }
+        } else {
+            pending.putInt(SAVE);
+            pending.putLong(tick);
+            SliderBinary.write(pending, change.getSlider());
+        }
+        pending.putInt(checksum(pending, start));
+    }
+    /**
+     * Group commit: writes the records of the tick with one sequential write
+     * They reach the disk with the next flush, a crash of the process alone does not lose them
+     * Does nothing when the tick had no changes
+     *
+     * @throws IOException if the records cannot be written, they are dropped
+     */
+    public void commit() throws IOException {
+        if (pending.position() == 0) {
+            return;
+        }
+        if (channel == null) {
+            pending.clear();
+            throw new IOException("The journal has no segment to write to");
+        }
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+            dirty.set(true);
+        } finally {
+            pending.clear();
+        }
+    }
+    /**
+     * Forces the committed records to disk, one force however many ticks committed since the last one
+     * Safe to call from any thread while the game commits
+     *
+     * @throws IOException if a segment cannot be forced
+     */
+    public void flush() throws IOException {
+        FileChannel old;
+        while ((old = retired.poll()) != null) {
+            try (FileChannel segment = old) {
+                segment.force(false);
+            }
+        }
+        FileChannel current = channel;
+        if (current != null && dirty.getAndSet(false)) {
+            try {
+                current.force(false);
+            } catch (ClosedChannelException exception) {
+                // closed meanwhile, close forced it
+            }
+        }
+    }
+    /**
+     * Forces and closes every segment, records not committed are dropped
+     *
+     * @throws IOException if a segment cannot be forced or closed
+     */
+    @Override
+    public void close() throws IOException {
+        pending.clear();
+        FileChannel current = channel;
+        channel = null;
+        if (current != null) {
+            retired.add(current);
+        }
+        dirty.set(false);
+        flush();
+    }
+    /**
+     * Deletes the segments that only hold records up to the given tick
+     * Segments are started on checkpoints, so this is every segment that starts at or before it
+     *
+     * @param directory directory of the segment files
+     * @param tick tick of a checkpoint, Long.MAX_VALUE for all
+     * @throws IOException if the directory cannot be read or a segment deleted
+     */
+    public static void deleteUpTo(Path directory, long tick) throws IOException {
+        for (Path segment : segments(directory).headMap(tick, true).values()) {
+            Files.delete(segment);
+        }
+    }
+    /**
+     * Moves the segments that only hold records up to the given tick to another directory
+     *
+     * @param directory directory of the segment files
+     * @param target directory they are moved to, which must exist
+     * @param tick tick of the checkpoint now holding those records
+     * @throws IOException if the directory cannot be read or a segment moved
+     */
+    public static void moveUpTo(Path directory, Path target, long tick) throws IOException {
+        for (Path segment : segments(directory).headMap(tick, true).values()) {
+            Files.move(segment, target.resolve(segment.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    /**
+     * Rebuilds the world from a checkpoint by replaying every tick journaled after it:
+     * the tick's changes are applied in order and then every slider takes a time step, like in the game loop
+     * Replay stops at a torn or corrupt record, e.g. the last one written before a crash
+     *
+     * @param directory directory of the segment files
+     * @param fromTick tick of the world passed in, records up to it are skipped
+     * @param world every slider by id, updated in place
+     * @param changed receives the ids of the sliders the replayed records created, edited or deleted
+     * @return the tick the world is at after the replay, fromTick if nothing was journaled after it
+     * @throws IOException if a segment cannot be read
+     */
+    public static long replay(Path directory, long fromTick, Map<Long, Slider> world, Set<Long> changed)
+            throws IOException {
+        List<FileChannel> segments = open(List.of(directory), fromTick);
+        try {
+            return replay(segments, fromTick, Long.MAX_VALUE, world, changed).tick;
+        } finally {
+            close(segments);
+        }
+    }
+    /**
+     * Opens the segments a replay from a tick reads, in tick order
+     * Only segments starting after fromTick are read: a checkpoint is always followed by
+     * a segment starting on the next tick, and the older ones may end with a record torn by a crash
+     * An open segment can still be read after it is moved or deleted
+     *
+     * @param directories directories of the segment files, e.g. the archive and the current one
+     * @param fromTick tick of the checkpoint the replay starts from
+     * @return the open segments, to be closed by the caller
+     * @throws IOException if a directory cannot be read or a segment opened, none are left open then
+     */
+    static List<FileChannel> open(List<Path> directories, long fromTick) throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        for (Path directory : directories) {
+            segments.putAll(segments(directory));
+        }
+        List<FileChannel> channels = new ArrayList<>();
+        try {
+            for (Path segment : segments.tailMap(fromTick, false).values()) {
+                channels.add(FileChannel.open(segment, StandardOpenOption.READ));
+            }
+        } catch (IOException exception) {
+            close(channels);
+            throw exception;
+        }
+        return channels;
+    }
+    /**
+     * Closes segments opened by open, the first failure is thrown once all are closed
+     *
+     * @param segments the open segments
+     * @throws IOException if a segment cannot be closed
+     */
+    static void close(List<FileChannel> segments) throws IOException {
+        IOException failure = null;
+        for (FileChannel segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException exception) {
+                if (failure == null) {
+                    failure = exception;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    /**
+     * Rebuilds the world of a given tick from a checkpoint before it
+     * Ticks after the last record are stepped too, so the caller must know the game reached toTick,
+     * but not past a torn or corrupt record: the records after it are lost, so the world cannot be known
+     *
+     * @param segments segments from open, in tick order
+     * @param fromTick tick of the world passed in
+     * @param toTick tick to rebuild, records after it are not read
+     * @param world every slider by id, updated in place
+     * @return the tick the world was rebuilt to, before toTick if a torn or corrupt record stopped the replay
+     * @throws IOException if a segment cannot be read
+     */
+    static long replayTo(List<FileChannel> segments, long fromTick, long toTick, Map<Long, Slider> world)
+            throws IOException {
+        Replayed replayed = replay(segments, fromTick, toTick, world, new HashSet<>());
+        if (replayed.stopped) {
+            return replayed.tick;
+        }
+        long done = replayed.tick;
+        for (; done < toTick; done++) {
+            step(world);
+        }
+        return done;
+    }
+    /**
+     * Replays the records of fromTick + 1 to toTick
+     * The game may be appending to the last segment, so a bad record at its end is a write
+     * not finished yet rather than a corrupt one: the game commits a tick before the tick is reached
+     */
+    private static Replayed replay(List<FileChannel> segments, long fromTick, long toTick, Map<Long, Slider> world,
+            Set<Long> changed) throws IOException {
+        long done = fromTick; // ticks completed
+        long open = fromTick; // tick whose changes have been applied but not its time step
+        long last = Long.MIN_VALUE; // tick of the previous record, ticks never go back
+        for (int i = 0; i < segments.size(); i++) {
+            FileChannel channel = segments.get(i);
+            boolean appended = i == segments.size() - 1;
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            records.order(SliderBinary.BYTE_ORDER);
+            while (records.remaining() >= RECORD_BYTES) {
+                int start = records.position();
+                int kind = records.getInt();
+                long tick = records.getLong();
+                records.position(start + RECORD_BYTES - Integer.BYTES);
+                if (records.getInt(records.position()) != checksum(records, start)
+                        || (kind != SAVE && kind != REMOVE) || tick < last) {
+                    // torn or corrupt, nothing after it can be trusted
+                    return new Replayed(finish(world, done, open), !appended || validRecordAfter(records, start));
+                }
+                records.position(start + Integer.BYTES + Long.BYTES);
+                WorldChange change = kind == SAVE
+                        ? changeOf(SliderBinary.restore(records))
+                        : new WorldChange(records.getLong(), null);
+                records.position(start + RECORD_BYTES);
+                last = tick;
+                if (tick <= fromTick) {
+                    continue;
+                }
+                if (tick > toTick) {
+                    return new Replayed(finish(world, done, open), false);
+                }
+                // the ticks before this one, with no changes or with changes already applied
+                while (done + 1 < tick) {
+                    step(world);
+                    done++;
+                }
+                change.applyTo(world);
+                changed.add(change.getId());
+                open = tick;
+            }
+            if (records.hasRemaining()) {
+                return new Replayed(finish(world, done, open), !appended); // torn last record
+            }
+        }
+        return new Replayed(finish(world, done, open), false);
+    }
+
+    /**
+     * When a record was last committed, from the times the segments were last modified
+     *
+     * @param directory directory of the segment files
+     * @return time in milliseconds, Long.MIN_VALUE if no segment holds a record
+     * @throws IOException if the directory cannot be read
+     */
+    public static long lastCommitted(Path directory) throws IOException {
+        long last = Long.MIN_VALUE;
+        for (Path segment : segments(directory).values()) {
+            if (Files.size(segment) > 0) {
+                last = Math.max(last, Files.getLastModifiedTime(segment).toMillis());
+            }
+        }
+        return last;
+    }
+
+    private static WorldChange changeOf(Slider slider) {
+        return new WorldChange(slider.getId(), slider);
+    }
+    /**
+     * Completes the tick whose changes were applied last
+     */
+    private static long finish(Map<Long, Slider> world, long done, long open) {
+        if (open > done) {
+            step(world);
+            return open;
+        }
+        return done;
+    }
+
+    private static void step(Map<Long, Slider> world) {
+        for (Slider slider : world.values()) {
+            slider.timeStep();
+        }
+    }
+    /**
+     * Where a replay ended
+     */
+    private static final class Replayed {
+
+        private final long tick; // tick the world is at
+        private final boolean stopped; // by a torn or corrupt record, not the end of the records
+
+        private Replayed(long tick, boolean stopped) {
+            this.tick = tick;
+            this.stopped = stopped;
+        }
+    }
+    /**
+     * Segment files by first tick, in tick order
+     */
+    private static TreeMap<Long, Path> segments(Path directory) throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+                } catch (NumberFormatException exception) {
+                    // not a segment
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static Path segment(Path directory, long firstTick) {
+        return directory.resolve(PREFIX + firstTick + SUFFIX);
+    }
+    /**
+     * CRC-32 of a record without its checksum
+     */
+    private static int checksum(ByteBuffer buffer, int start) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(start);
+        record.limit(start + RECORD_BYTES - Integer.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Whether a record with a valid checksum follows the one at start
+     */
+    private static boolean validRecordAfter(ByteBuffer records, int start) {
+        for (int next = start + RECORD_BYTES; next + RECORD_BYTES <= records.limit(); next += RECORD_BYTES) {
+            if (records.getInt(next + RECORD_BYTES - Integer.BYTES) == checksum(records, next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer newBuffer(int records) {
+        return ByteBuffer.allocateDirect(records * RECORD_BYTES).order(SliderBinary.BYTE_ORDER);
+    }
+}
@@ -19,6 +19,9 @@ import cst8218.andrianna.slider.entity.Slider;
 import jakarta.ejb.Stateless;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Stateless session bean with a concrete implementation of the AbstractFacade class
@@ -45,4 +48,49 @@ public class SliderFacade extends AbstractFacade<Slider> {
     public SliderFacade() {
         super(Slider.class);
     }
+    /**
+     * Writes only the fields that timeStep changes, in one transaction
+     * Rows are updated but never inserted, so a slider deleted meanwhile stays deleted,
+     * and rows written through REST after the sliders were captured are left to the next save
+     * 
+     * @param sliders sliders with the motion to save
+     * @param capturedAt when the sliders were captured, in milliseconds like Slider.lastModified
+     * @return number of sliders that still exist, were not written since and were updated
+     */
+    public int updateMotion(List<Slider> sliders, long capturedAt) {
+        Query update = em.createNamedQuery("Slider.updateMotion");
+        update.setParameter("capturedAt", capturedAt);
+        int updated = 0;
+        for (Slider slider : sliders) {
+            update.setParameter("id", slider.getId());
+            update.setParameter("maxTravel", slider.getMaxTravel());
+            update.setParameter("currentTravel", slider.getCurrentTravel());
+            update.setParameter("mvtDirection", slider.getMvtDirection());
+            update.setParameter("dirChangeCount", slider.getDirChangeCount());
+            updated += update.executeUpdate();
+        }
+        return updated;
+    }
+    /**
+     * Sliders created or edited through the EntityManager after a time
+     * 
+     * @param since time in milliseconds
+     * @return the sliders with a later lastModified
+     */
+    public List<Slider> findModifiedSince(long since) {
+        return em.createNamedQuery("Slider.findModifiedSince", Slider.class)
+                .setParameter("since", since)
+                .getResultList();
+    }
+    /**
+     * Sliders with the given ids, in one query
+     * 
+     * @param ids ids to read
+     * @return the sliders that exist
+     */
+    public List<Slider> findByIds(Collection<Long> ids) {
+        return em.createNamedQuery("Slider.findByIds", Slider.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
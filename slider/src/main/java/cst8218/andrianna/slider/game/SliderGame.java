@@ -13,9 +13,45 @@
 package cst8218.andrianna.slider.game;
 
 import jakarta.ejb.Singleton;
-//import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
 import jakarta.ejb.*;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.persistence.Tuple;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import cst8218.andrianna.slider.entity.Slider;
 
@@ -24,6 +60,8 @@ import cst8218.andrianna.slider.entity.Slider;
 /**
  * Singleton EJB that starts at application startup
  * Runs the game loop, while updating all entities of the Slider
+ * The loop runs on a thread of the container's thread factory,
+ * it is stopped and the world saved when the application is undeployed
  */
 @Singleton
 @Startup
@@ -32,34 +70,847 @@ public class SliderGame {
 
     // times per second for the game to update the sliders (regular intervals)
     public static final int CHANGE_RATE = 60;
+    // system property that starts the game when the application starts, unless it is false
+    public static final String AUTOSTART_PROPERTY = "slider.game.autostart";
+    // longest the undeploy may wait for the last tick and the final save
+    private static final long SHUTDOWN_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // length of one frame, a frame starting later than this after the previous one is late
+    private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / CHANGE_RATE;
+    // waiters woken per task on the executor when a frame is published
+    private static final int WAKE_BATCH = 512;
+    // system property naming the directory of the checkpoint and journal,
+    // by default a directory per application under the server instance
+    public static final String DATA_DIR_PROPERTY = "slider.data.dir";
+    private static final String INSTANCE_ROOT_PROPERTY = "com.sun.aas.instanceRoot";
+    private static final String CHECKPOINT_FILE = "slider-world.ckpt";
+    // system property with the number of past checkpoints kept, so ticks back to the oldest can be rebuilt
+    public static final String ARCHIVE_PROPERTY = "slider.archive.checkpoints";
+    private static final int ARCHIVED_CHECKPOINTS = 60; // ten minutes at one checkpoint every SAVE_TICKS
+    // ticks between saves of the world to the database and the checkpoint (every 10 seconds),
+    // the journal keeps the REST writes in between
+    private static final int SAVE_TICKS = 10 * CHANGE_RATE;
+    // sliders updated per database transaction when the world is saved
+    private static final int SAVE_BATCH = 1000;
+    // a periodic save has to finish before the next one is due
+    private static final long SAVE_NANOS = SAVE_TICKS * FRAME_NANOS;
+    // ticks of motion changes kept for GET /sliders/motion?after= (one minute),
+    // a client further behind gets every slider again
+    private static final int MOTION_LOG_TICKS = 60 * CHANGE_RATE;
+    private static final Logger LOG = Logger.getLogger(SliderGame.class.getName());
     // injects the SliderFacade for slider to access and manipulate entities
     @EJB
     private SliderFacade sliderFacade;
+    // container threads that hand new frames to waiting requests, so the game thread never does
+    @Resource
+    private ManagedExecutorService executor;
+    // creates the thread that runs the ticks, with the application's context
+    @Resource
+    private ManagedThreadFactory threadFactory;
+    // REST writes are handed to the world only once their transaction commits
+    @Resource
+    private TransactionSynchronizationRegistry transactions;
+    // names the default data directory
+    @Resource(lookup = "java:app/AppName")
+    private String appName;
+    
+    // state of the loop, changed by the lifecycle methods and the admin endpoints
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile boolean accepting; // REST writes are queued for the world
+    private volatile boolean stopping; // set on shutdown, a periodic save still running stops at its next step
+    private boolean loaded; // the world has been loaded, guarded by tickLock
+    private Thread loop; // runs the ticks while running is true
+    // ticks still to run while paused, one per POST /game/step
+    private final AtomicInteger steps = new AtomicInteger();
+    // held while a tick runs, and while the world is loaded or saved on shutdown
+    private final ReentrantLock tickLock = new ReentrantLock();
+    private long previousStart; // start of the previous tick, guarded by tickLock
+    
+    // loop counters, written by the game thread and read by GET /game/stats
+    private final AtomicLong tick = new AtomicLong();
+    private final AtomicLong lateFrames = new AtomicLong();
+    private final AtomicLong totalLatenessNanos = new AtomicLong();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+    
+    // frame published after the last tick, swapped as a whole so readers never see half a frame
+    private final AtomicReference<SliderSnapshot> snapshot = new AtomicReference<>();
+    // requests parked until a frame newer than the one they have
+    private final Set<FrameWaiter> waiters = ConcurrentHashMap.newKeySet();
+    // motions of the sliders REST writes changed, by the tick they were applied in
+    private final ConcurrentNavigableMap<Long, List<SliderMotion>> motionLog = new ConcurrentSkipListMap<>();
+    // the log holds every motion change after this tick
+    private volatile long motionLogStart;
+    // requests parked until a motion changes after the tick they have
+    private final Set<FrameWaiter> motionWaiters = ConcurrentHashMap.newKeySet();
+    
+    // every slider by id, only touched while holding tickLock
+    private final Map<Long, Slider> world = new LinkedHashMap<>();
+    // REST writes waiting to be applied to the world at the start of the next tick
+    private final Queue<WorldChange> changes = new ConcurrentLinkedQueue<>();
+    // directory of the checkpoint and the journal, set before the game can start
+    private Path dataDirectory;
+    // REST writes applied since the last checkpoint, written while holding tickLock and flushed on the executor
+    private MutationJournal journal;
+    // past checkpoints and the journal after them
+    private WorldHistory history;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    // save of the world running on the executor, null when there is none
+    private volatile Future<?> pendingSave;
+    // held while the checkpoint is written, they share a temporary file
+    private final Object checkpointLock = new Object();
     /**
-     * Go method that starts a background thread to update all sliders
-     * Will run indefinitely, using the CHANGE_RATE for periodic updates
+     * Starts the game with the application unless the autostart property is false
+     * Runs without a transaction so each database call of the load has its own
      */
-    //@PostContruct
+    @PostConstruct
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void startup() {
+        dataDirectory = dataDirectory();
+        journal = new MutationJournal(dataDirectory);
+        history = new WorldHistory(dataDirectory, Integer.getInteger(ARCHIVE_PROPERTY, ARCHIVED_CHECKPOINTS));
+        if (Boolean.parseBoolean(System.getProperty(AUTOSTART_PROPERTY, "true"))) {
+            go();
+        }
+    }
+    /**
+     * Go method that starts the game loop, using the CHANGE_RATE for periodic updates
+     * The world is loaded and published as a frame before the first tick,
+     * if it cannot be loaded the game does not start.
+     * The sliders are kept in memory and saved once every SAVE_TICKS,
+     * the REST writes applied in a tick are journaled before its time step
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
     public void go() {
-        new Thread(() -> {
-            //the game runs indefinitely
-            while (true) {
-                //update all the slider and save changes to the database
-                List<Slider> sliders = sliderFacade.findAll();
-                for (Slider slider : sliders) {
-                    // calls timeStep emthod to update each slider's state
-                    slider.timeStep();
-                    // saves the updated sliders to the database
-                    sliderFacade.edit(slider);
-                }
-                //sleep while waiting to process the next frame of the animation
+        if (running) {
+            return;
+        }
+        tickLock.lock();
+        try {
+            if (!loaded) {
+                // writes made while the world loads are applied by the first tick
+                accepting = true;
+                loadWorld();
+                loaded = true;
+                motionLogStart = tick.get(); // clients start from the loaded frame
+                publish(new SliderSnapshot(tick.get(), world.values()));
+            }
+            previousStart = System.nanoTime();
+            running = true;
+        } catch (RuntimeException exception) {
+            LOG.log(Level.SEVERE, "Cannot load the world, the game is not started", exception);
+            accepting = false;
+            changes.clear();
+            world.clear();
+            return;
+        } finally {
+            tickLock.unlock();
+        }
+        // one long-lived thread, a managed task per tick would set up the context 60 times a second
+        loop = threadFactory.newThread(this::runLoop);
+        loop.setName("slider-game");
+        loop.start();
+    }
+    /**
+     * Stops taking ticks until resume, GET /sliders keeps serving the last frame
+     */
+    @Lock(LockType.READ)
+    public void pause() {
+        paused = true;
+    }
+    /**
+     * Takes ticks again after pause, or starts the game if it is not running
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void resume() {
+        steps.set(0);
+        paused = false;
+        go();
+    }
+    /**
+     * Runs one more tick while the game is paused
+     * 
+     * @return false if the game is not running or not paused, so no tick will follow
+     */
+    @Lock(LockType.READ)
+    public boolean step() {
+        if (!running || !paused) {
+            return false;
+        }
+        steps.incrementAndGet();
+        return true;
+    }
+    /**
+     * Stops the loop when the application is undeployed, within SHUTDOWN_NANOS:
+     * the tick in progress finishes, a periodic save stops, writes still queued are applied by one last tick,
+     * then the journal is closed and the world checkpointed, and its motion written to the database if there is time
+     */
+    @PreDestroy
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void shutdown() {
+        long deadline = System.nanoTime() + SHUTDOWN_NANOS;
+        running = false;
+        stopping = true;
+        try {
+            // not interrupted, that would close the journal's channel in the middle of a write
+            Thread current = loop;
+            if (current != null) {
+                LockSupport.unpark(current);
+                current.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+            if (!tickLock.tryLock(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                LOG.warning("The last tick did not finish in time, the world is not saved");
+                return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        boolean interrupted = false;
+        try {
+            if (!loaded) {
+                return;
+            }
+            // a periodic save still writing stops at its next batch, writes are still taken meanwhile
+            Future<?> previous = pendingSave;
+            if (previous != null) {
                 try {
-                    // wake up roughly CHANGE_RATE times per second
-                    Thread.sleep((long)(1.0/CHANGE_RATE*1000));
+                    previous.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException exception) {
+                    LOG.warning("The periodic save did not stop in time, the world is checkpointed anyway");
+                } catch (ExecutionException exception) {
+                    LOG.log(Level.WARNING, "The periodic save failed", exception.getCause());
                 } catch (InterruptedException exception) {
-                    exception.printStackTrace();
+                    interrupted = true; // restored after the checkpoint, an interrupt would close its channel
                 }
             }
-        }) .start(); // starts the game loop thread
-}
+            // every write queued until now is in the final frame, later ones are read back on the next load
+            synchronized (changes) {
+                accepting = false;
+            }
+            if (!changes.isEmpty()) {
+                advance(false);
+            }
+            SliderSnapshot frame = snapshot.get();
+            try {
+                journal.close(); // before the checkpoint archives its segment
+            } catch (IOException exception) {
+                LOG.log(Level.WARNING, "Cannot close the journal on shutdown", exception);
+            }
+            try {
+                synchronized (checkpointLock) {
+                    checkpoint(frame);
+                }
+                LOG.log(Level.INFO, "Saved {0} sliders at tick {1} on shutdown",
+                        new Object[]{frame.size(), frame.getTick()});
+            } catch (IOException | RuntimeException exception) {
+                LOG.log(Level.WARNING, "Cannot checkpoint the world on shutdown, the journal keeps the writes",
+                        exception);
+            }
+            try {
+                saveMotion(frame, deadline, false);
+            } catch (RuntimeException exception) {
+                // the container may already have removed the application's connection pool
+                LOG.log(Level.INFO, "The motion of the sliders is not written to the database on shutdown,"
+                        + " the checkpoint holds it: {0}", exception.toString());
+            }
+        } finally {
+            tickLock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    /**
+     * The loop, one tick every FRAME_NANOS until the game stops
+     * A late tick is followed by the next one right away, the ones after it are paced from there
+     */
+    private void runLoop() {
+        long next = System.nanoTime() + FRAME_NANOS;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait); // shutdown unparks it
+                continue;
+            }
+            tick();
+            next = Math.max(next + FRAME_NANOS, System.nanoTime());
+        }
+    }
+    /**
+     * One turn of the loop, nothing happens while paused unless a step was asked for
+     * Exceptions are logged, one escaping would end the loop
+     */
+    private void tick() {
+        tickLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            long frameStart = System.nanoTime();
+            if (paused) {
+                previousStart = frameStart; // time spent paused is not lateness
+                if (steps.getAndUpdate(n -> Math.max(0, n - 1)) == 0) {
+                    return;
+                }
+            } else {
+                // measure how late this frame starts compared to one frame after the last one
+                recordLateness(frameStart - previousStart - FRAME_NANOS);
+                previousStart = frameStart;
+            }
+            advance(true);
+        } catch (RuntimeException exception) {
+            LOG.log(Level.SEVERE, "Tick " + (tick.get() + 1) + " failed", exception);
+        } finally {
+            tickLock.unlock();
+        }
+    }
+    /**
+     * One tick of the game: the REST writes are applied and every slider takes a time step
+     * 
+     * @param periodicSave true to start a save of the world every SAVE_TICKS
+     */
+    private void advance(boolean periodicSave) {
+        //apply the REST writes, then update all the sliders
+        long current = tick.get() + 1;
+        Set<Long> changed = applyChanges(current);
+        for (Slider slider : world.values()) {
+            // calls timeStep emthod to update each slider's state
+            slider.timeStep();
+        }
+        // logged before the frame, so a client with the frame can get every motion up to it
+        if (!changed.isEmpty()) {
+            logMotions(current, changed);
+        }
+        // publish the frame for GET /sliders and wake GET /sliders/next
+        SliderSnapshot frame = new SliderSnapshot(tick.incrementAndGet(), world.values());
+        publish(frame);
+        if (!changed.isEmpty()) {
+            wakeWaiters(motionWaiters, frame);
+        }
+        if (periodicSave && frame.getTick() % SAVE_TICKS == 0) {
+            save(frame);
+        }
+    }
+
+    private void publish(SliderSnapshot frame) {
+        snapshot.set(frame);
+        wakeWaiters(waiters, frame);
+    }
+    /**
+     * Logs the motion of the sliders changed in a tick, after their time step,
+     * and drops the ticks older than MOTION_LOG_TICKS
+     */
+    private void logMotions(long current, Set<Long> changed) {
+        List<SliderMotion> motions = new ArrayList<>(changed.size());
+        for (Long id : changed) {
+            Slider slider = world.get(id);
+            motions.add(slider == null ? SliderMotion.removed(id, current) : SliderMotion.of(slider, current));
+        }
+        motionLog.put(current, motions);
+        Long oldest;
+        while ((oldest = motionLog.firstKey()) <= current - MOTION_LOG_TICKS) {
+            motionLogStart = oldest; // before the remove, so readers missing it fall back to every slider
+            motionLog.remove(oldest);
+        }
+    }
+    /**
+     * Fills the world before the first tick
+     * From the checkpoint when there is one, with the journal after it replayed,
+     * then reconciled with the database.
+     * Without a checkpoint every slider is read from the database.
+     * The world is then checkpointed and the journal starts again from it.
+     */
+    private void loadWorld() {
+        long start = System.nanoTime();
+        // REST writes stamped after this may be missing from what is read, the next load reads them again
+        long readAt = System.currentTimeMillis();
+        WorldCheckpoint checkpoint = null;
+        try {
+            checkpoint = WorldCheckpoint.read(checkpointFile());
+        } catch (IOException exception) {
+            LOG.log(Level.WARNING, "Ignoring the world checkpoint, loading the sliders from the database", exception);
+        }
+        if (checkpoint == null) {
+            for (Slider slider : sliderFacade.findAll()) {
+                world.put(slider.getId(), slider);
+            }
+            // the ticks start over, the archived ones would be mistaken for them
+            try {
+                history.clear();
+            } catch (IOException exception) {
+                LOG.log(Level.WARNING, "Cannot clear the archive of past ticks", exception);
+            }
+        } else {
+            for (Slider slider : checkpoint.getSliders()) {
+                world.put(slider.getId(), slider);
+            }
+            tick.set(checkpoint.getTick());
+            Set<Long> replayed = new HashSet<>();
+            long journalEnd = checkpoint.getCapturedAt();
+            try {
+                tick.set(MutationJournal.replay(dataDirectory, checkpoint.getTick(), world, replayed));
+                journalEnd = Math.max(journalEnd, MutationJournal.lastCommitted(dataDirectory));
+            } catch (IOException exception) {
+                LOG.log(Level.WARNING, "Cannot replay the journal after tick " + checkpoint.getTick(), exception);
+            }
+            reconcile(checkpoint.getCapturedAt(), journalEnd, replayed);
+        }
+        // the new checkpoint holds everything the journal did, so the journal starts over
+        try {
+            WorldCheckpoint.write(checkpointFile(), tick.get(), readAt, new ArrayList<>(world.values()));
+            history.archive(checkpointFile(), tick.get());
+            // segments after the tick are left from a journal that could not be replayed to its end
+            MutationJournal.deleteUpTo(dataDirectory, Long.MAX_VALUE);
+        } catch (IOException exception) {
+            LOG.log(Level.WARNING, "Cannot checkpoint the world of tick " + tick.get(), exception);
+        }
+        startJournal(tick.get() + 1);
+        LOG.log(Level.INFO, "Loaded {0} sliders at tick {1} in {2} ms", new Object[]{world.size(), tick.get(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)});
+    }
+    /**
+     * Brings the world from the checkpoint and journal up to the database, in at most three queries:
+     * sliders deleted since are dropped, sliders written through REST that the world does not have
+     * are read again, and sliders missing from the world are read
+     * 
+     * @param capturedAt when the world of the checkpoint was captured, in milliseconds
+     * @param journalEnd when the journal was last committed to, capturedAt if it is empty
+     * @param replayed ids of the sliders the journal changed
+     */
+    private void reconcile(long capturedAt, long journalEnd, Set<Long> replayed) {
+        Set<Long> ids = new HashSet<>();
+        for (Tuple row : sliderFacade.findAllProjection(new String[]{"id"})) {
+            ids.add(row.get(0, Long.class));
+        }
+        // a slider missing from the database was deleted after the journal ends
+        world.keySet().retainAll(ids);
+        // written after the journal ends, e.g. while the game was down,
+        // or after the checkpoint without reaching the journal
+        int reloaded = 0;
+        for (Slider slider : sliderFacade.findModifiedSince(capturedAt)) {
+            if (slider.getLastModified() > journalEnd || !replayed.contains(slider.getId())) {
+                world.put(slider.getId(), slider);
+                reloaded++;
+            }
+        }
+        ids.removeAll(world.keySet());
+        // what is left is in neither, e.g. written before lastModified existed
+        List<Long> missing = new ArrayList<>(ids);
+        for (int from = 0; from < missing.size(); from += SAVE_BATCH) {
+            List<Long> batch = missing.subList(from, Math.min(from + SAVE_BATCH, missing.size()));
+            for (Slider slider : sliderFacade.findByIds(batch)) {
+                world.put(slider.getId(), slider);
+            }
+        }
+        if (reloaded > 0 || !missing.isEmpty()) {
+            LOG.log(Level.INFO, "Read {0} sliders written since the checkpoint and {1} missing from it",
+                    new Object[]{reloaded, missing.size()});
+        }
+    }
+    /**
+     * Applies the REST writes queued since the last tick, in the order they were made,
+     * and commits them to the journal with one write for the whole tick
+     * 
+     * @param current tick the changes are applied in
+     * @return ids of the sliders created, edited or deleted
+     */
+    private Set<Long> applyChanges(long current) {
+        Set<Long> changed = new LinkedHashSet<>();
+        WorldChange change;
+        while ((change = changes.poll()) != null) {
+            change.applyTo(world);
+            journal.append(current, change);
+            changed.add(change.getId());
+        }
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        try {
+            journal.commit();
+            flushJournal();
+        } catch (IOException exception) {
+            LOG.log(Level.WARNING, "Cannot journal the changes of tick " + current, exception);
+        }
+        return changed;
+    }
+    /**
+     * Forces the journal to disk on the executor, the REST writes were acknowledged before the tick
+     * so waiting for the disk here would only delay the frame.
+     * At most one flush waits to run, it covers every tick committed before it starts
+     */
+    private void flushJournal() {
+        if (!flushPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                flushPending.set(false); // before the force, a commit during it needs another one
+                try {
+                    journal.flush();
+                } catch (IOException exception) {
+                    LOG.log(Level.WARNING, "Cannot force the journal to disk", exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            flushPending.set(false); // stopping, close forces the journal
+        }
+    }
+    /**
+     * Starts a journal segment for the ticks from the given one
+     */
+    private void startJournal(long firstTick) {
+        try {
+            journal.start(firstTick);
+        } catch (IOException exception) {
+            LOG.log(Level.WARNING, "Cannot start the journal at tick " + firstTick, exception);
+        }
+    }
+    /**
+     * Saves a frame on the executor, while the loop goes on
+     * Skipped when the previous save has not finished yet
+     */
+    private void save(SliderSnapshot frame) {
+        Future<?> previous = pendingSave;
+        if (previous != null && !previous.isDone()) {
+            return;
+        }
+        // later ticks go to a new segment, so the ones up to the frame can be deleted once it is saved
+        startJournal(frame.getTick() + 1);
+        long deadline = System.nanoTime() + SAVE_NANOS;
+        try {
+            pendingSave = executor.submit(() -> {
+                try {
+                    saveWorld(frame, deadline);
+                } catch (IOException | RuntimeException exception) {
+                    LOG.log(Level.WARNING, "Cannot save the world of tick " + frame.getTick(), exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            LOG.warning("The application is stopping, the world of tick " + frame.getTick() + " is not saved");
+        }
+    }
+    /**
+     * Writes a frame to the checkpoint, then the motion of every slider to the database
+     * 
+     * @param frame frame to save
+     * @param deadline System.nanoTime() by which to stop writing to the database
+     * @throws IOException if the checkpoint cannot be written
+     */
+    private void saveWorld(SliderSnapshot frame, long deadline) throws IOException {
+        synchronized (checkpointLock) {
+            if (stopping) {
+                return; // shutdown checkpoints a later frame, this one must not replace it
+            }
+            checkpoint(frame);
+        }
+        saveMotion(frame, deadline, true);
+    }
+    /**
+     * Writes a frame to the checkpoint, which replaces the journal up to the frame,
+     * and archives it with the segments it replaces
+     */
+    private void checkpoint(SliderSnapshot frame) throws IOException {
+        WorldCheckpoint.write(checkpointFile(), frame);
+        history.archive(checkpointFile(), frame.getTick());
+    }
+    /**
+     * Writes the motion of the sliders of a frame to the database in batches until the deadline,
+     * the checkpoint already holds the rest. Each batch is decoded from the frame only when it is written
+     * 
+     * @param periodic true to stop once shutdown begins, which writes a later frame
+     */
+    private void saveMotion(SliderSnapshot frame, long deadline, boolean periodic) {
+        for (int from = 0; from < frame.size(); from += SAVE_BATCH) {
+            if (periodic && stopping) {
+                LOG.log(Level.INFO, "Shutdown stopped the save of tick {0} after {1} of {2} sliders",
+                        new Object[]{frame.getTick(), from, frame.size()});
+                return;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                LOG.log(Level.WARNING, "Saved the motion of {0} of {1} sliders to the database before the deadline",
+                        new Object[]{from, frame.size()});
+                return;
+            }
+            sliderFacade.updateMotion(frame.getSliders(from, Math.min(from + SAVE_BATCH, frame.size())),
+                    frame.getCapturedAt());
+        }
+    }
+    /**
+     * Directory named by DATA_DIR_PROPERTY, or slider-data/(application name)
+     * under the GlassFish instance (the user's home elsewhere), so applications never share a checkpoint
+     */
+    private Path dataDirectory() {
+        String directory = System.getProperty(DATA_DIR_PROPERTY);
+        if (directory != null) {
+            return Paths.get(directory);
+        }
+        String root = System.getProperty(INSTANCE_ROOT_PROPERTY, System.getProperty("user.home"));
+        return Paths.get(root, "slider-data", appName);
+    }
+
+    private Path checkpointFile() {
+        return dataDirectory.resolve(CHECKPOINT_FILE);
+    }
+    /**
+     * Adds one frame's lateness to the counters, frames on time are not counted
+     * 
+     * @param latenessNanos how much later than one frame period the frame started
+     */
+    private void recordLateness(long latenessNanos) {
+        if (latenessNanos > 0) {
+            lateFrames.incrementAndGet();
+            totalLatenessNanos.addAndGet(latenessNanos);
+            maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+        }
+    }
+    /**
+     * Frame of the last tick
+     * A REST write shows in the frame of the tick that applies it, the frame before stays current until then
+     * 
+     * @return the current frame, or null before the world is loaded
+     */
+    @Lock(LockType.READ)
+    public SliderSnapshot currentSnapshot() {
+        return snapshot.get();
+    }
+    /**
+     * Calls back with the first frame newer than the given tick
+     * Right away if there already is one, otherwise when the game publishes it
+     * 
+     * @param after tick the caller already has
+     * @param callback receives the frame once, on a container thread
+     * @return cancels the wait, e.g. when the request times out
+     */
+    @Lock(LockType.READ)
+    public Runnable awaitFrame(long after, Consumer<SliderSnapshot> callback) {
+        FrameWaiter waiter = new FrameWaiter(after, callback);
+        waiters.add(waiter);
+        // a frame published before the add did not see this waiter
+        SliderSnapshot current = snapshot.get();
+        if (current != null && current.getTick() > after && waiters.remove(waiter)) {
+            waiter.offer(current);
+        }
+        return () -> waiters.remove(waiter);
+    }
+    /**
+     * Motions a client needs to compute every frame up to the current one
+     * Every slider when after is before the motion log, otherwise
+     * the last motion of each slider REST writes changed after that tick
+     * 
+     * @param after tick of the last SliderMotions the client got, -1 for every slider
+     * @return the motions, or null before the world is loaded
+     */
+    @Lock(LockType.READ)
+    public SliderMotions motionsSince(long after) {
+        SliderSnapshot frame = snapshot.get();
+        if (frame == null) {
+            return null;
+        }
+        long now = frame.getTick();
+        if (after >= motionLogStart && after <= now) {
+            Map<Long, SliderMotion> latest = new LinkedHashMap<>();
+            for (List<SliderMotion> motions : motionLog.subMap(after, false, now, true).values()) {
+                for (SliderMotion motion : motions) {
+                    latest.remove(motion.getId()); // keeps the order of the last change
+                    latest.put(motion.getId(), motion);
+                }
+            }
+            // read again, ticks dropped while copying may be missing
+            if (after >= motionLogStart) {
+                return new SliderMotions(now, false, new ArrayList<>(latest.values()));
+            }
+        }
+        List<SliderMotion> motions = new ArrayList<>(frame.size());
+        for (int i = 0; i < frame.size(); i++) {
+            motions.add(SliderMotion.of(frame.get(i), now));
+        }
+        return new SliderMotions(now, true, motions);
+    }
+    /**
+     * Calls back with the current frame once a REST write changes a motion after the given tick
+     * Right away if one already did, the callback then asks for motionsSince(after)
+     * 
+     * @param after tick of the last SliderMotions the client got
+     * @param callback receives the frame once, on a container thread
+     * @return cancels the wait, e.g. when the request times out
+     */
+    @Lock(LockType.READ)
+    public Runnable awaitMotion(long after, Consumer<SliderSnapshot> callback) {
+        FrameWaiter waiter = new FrameWaiter(after, callback);
+        motionWaiters.add(waiter);
+        // a change logged before the add did not see this waiter
+        SliderSnapshot current = snapshot.get();
+        if (current != null && (after < motionLogStart || motionLog.higherKey(after) != null)
+                && motionWaiters.remove(waiter)) {
+            waiter.offer(current);
+        }
+        return () -> motionWaiters.remove(waiter);
+    }
+    /**
+     * Hands a new frame to every parked waiter in one pass over the set,
+     * the callbacks run on the executor in batches
+     */
+    private void wakeWaiters(Set<FrameWaiter> waiters, SliderSnapshot frame) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        List<FrameWaiter> batch = new ArrayList<>(WAKE_BATCH);
+        for (FrameWaiter waiter : waiters) {
+            if (waiter.after < frame.getTick() && waiters.remove(waiter)) {
+                batch.add(waiter);
+                if (batch.size() == WAKE_BATCH) {
+                    wake(batch, frame);
+                    batch = new ArrayList<>(WAKE_BATCH);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            wake(batch, frame);
+        }
+    }
+
+    private void wake(List<FrameWaiter> batch, SliderSnapshot frame) {
+        executor.execute(() -> {
+            for (FrameWaiter waiter : batch) {
+                waiter.offer(frame);
+            }
+        });
+    }
+    /**
+     * True once the loop has been started, frames only arrive while it runs
+     * 
+     * @return whether the game is running
+     */
+    @Lock(LockType.READ)
+    public boolean isRunning() {
+        return running;
+    }
+    /**
+     * True between pause and resume, the loop is running but takes no ticks
+     * 
+     * @return whether the game is paused
+     */
+    @Lock(LockType.READ)
+    public boolean isPaused() {
+        return paused;
+    }
+    /**
+     * Tick of the last published frame
+     * 
+     * @return the tick, 0 before the first frame
+     */
+    @Lock(LockType.READ)
+    public long currentTick() {
+        return tick.get();
+    }
+    /**
+     * Hands a slider created or edited through REST to the game, called after every such write
+     * Inside the caller's transaction it is handed over once that commits, and dropped on rollback.
+     * The next tick applies it, until then the published frame has the slider as it was
+     * 
+     * @param slider slider as written to the database, with its id
+     */
+    @Lock(LockType.READ)
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public void saved(Slider slider) {
+        afterCommit(new WorldChange(slider.getId(), SliderSnapshot.copy(slider)));
+    }
+    /**
+     * Tells the game a slider was deleted through REST, called after every delete
+     * Inside the caller's transaction it is handed over once that commits, and dropped on rollback
+     * 
+     * @param id id of the deleted slider
+     */
+    @Lock(LockType.READ)
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public void removed(Long id) {
+        afterCommit(new WorldChange(id, null));
+    }
+    /**
+     * Queues a change when the current transaction commits, or now without one
+     */
+    private void afterCommit(WorldChange change) {
+        int status = transactions.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            queue(change);
+        } else if (status == Status.STATUS_ACTIVE) {
+            transactions.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int outcome) {
+                    if (outcome == Status.STATUS_COMMITTED) {
+                        queue(change);
+                    }
+                }
+            });
+        }
+        // otherwise marked for rollback, the write will not happen
+    }
+
+    private void queue(WorldChange change) {
+        // shutdown stops accepting under the same lock, so no write is added after the final frame drains the queue
+        synchronized (changes) {
+            if (accepting) {
+                changes.add(change);
+            }
+        }
+    }
+    /**
+     * The world after a past tick, rebuilt from the archived checkpoint before it and the journal
+     * 
+     * @param at tick of the frame
+     * @return the sliders of that frame, null if the tick is in the future or before the archive
+     * @throws IOException if the archive cannot be read
+     */
+    @Lock(LockType.READ)
+    public List<Slider> worldAt(long at) throws IOException {
+        if (at < 0 || at > tick.get()) {
+            return null;
+        }
+        Map<Long, Slider> past = history.rebuild(at);
+        return past == null ? null : new ArrayList<>(past.values());
+    }
+    /**
+     * Current loop counters
+     * Reads only atomics, so it does not need the singleton's write lock
+     * 
+     * @return the counters at the time of the call
+     */
+    @Lock(LockType.READ)
+    public GameStats getStats() {
+        GameStats stats = new GameStats();
+        stats.setRunning(running);
+        stats.setPaused(paused);
+        stats.setTick(tick.get());
+        stats.setLateFrames(lateFrames.get());
+        stats.setTotalLatenessMicros(TimeUnit.NANOSECONDS.toMicros(totalLatenessNanos.get()));
+        stats.setMaxLatenessMicros(TimeUnit.NANOSECONDS.toMicros(maxLatenessNanos.get()));
+        return stats;
+    }
+    
+    /**
+     * A request waiting for a frame newer than after
+     */
+    private static final class FrameWaiter {
+
+        private final long after;
+        private final Consumer<SliderSnapshot> callback;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        FrameWaiter(long after, Consumer<SliderSnapshot> callback) {
+            this.after = after;
+            this.callback = callback;
+        }
+        /**
+         * Calls back with the frame, at most once
+         */
+        void offer(SliderSnapshot frame) {
+            if (done.compareAndSet(false, true)) {
+                callback.accept(frame);
+            }
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderMotion.java
+ *
+ * State of one slider at a base tick, from which a client can compute
+ * every later frame itself because Slider.timeStep() follows fixed rules
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The slider as published in the frame of baseTick.
+ * Its state at a later tick t is t - baseTick time steps from this one, each of them:
+ * if maxTravel is above 0, currentTravel moves by mvtDirection * travelSpeed;
+ * once |currentTravel| reaches maxTravel the direction flips and dirChangeCount goes up,
+ * and on maxDirChanges changes maxTravel goes down by decreaseRate and dirChangeCount back to 0.
+ * x, y and size never change between two REST writes.
+ * The rule constants are in SliderMotions.
+ */
+@XmlRootElement // allows for xml
+public class SliderMotion {
+
+    private Long id;
+    private long baseTick; // tick of the frame the values are from
+    private boolean removed; // the slider was deleted in baseTick, the other values are not set
+    private int x;
+    private int y;
+    private int size;
+    private int maxTravel;
+    private int currentTravel;
+    private int mvtDirection;
+    private int dirChangeCount;
+    /**
+     * Motion of a slider as published in a frame
+     *
+     * @param slider slider of the frame, not changed
+     * @param tick tick of the frame
+     * @return the motion
+     */
+    public static SliderMotion of(Slider slider, long tick) {
+        SliderMotion motion = new SliderMotion();
+        motion.id = slider.getId();
+        motion.baseTick = tick;
+        motion.x = slider.getX();
+        motion.y = slider.getY();
+        motion.size = slider.getSize();
+        motion.maxTravel = slider.getMaxTravel();
+        motion.currentTravel = slider.getCurrentTravel();
+        motion.mvtDirection = slider.getMvtDirection();
+        motion.dirChangeCount = slider.getDirChangeCount();
+        return motion;
+    }
+    /**
+     * Motion telling clients a slider is gone
+     *
+     * @param id id of the deleted slider
+     * @param tick tick the delete was applied in
+     * @return the motion
+     */
+    public static SliderMotion removed(Long id, long tick) {
+        SliderMotion motion = new SliderMotion();
+        motion.id = id;
+        motion.baseTick = tick;
+        motion.removed = true;
+        return motion;
+    }
+
+    // getters and setters for the motion
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getBaseTick() {
+        return baseTick;
+    }
+
+    public void setBaseTick(long baseTick) {
+        this.baseTick = baseTick;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(boolean removed) {
+        this.removed = removed;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public void setY(int y) {
+        this.y = y;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxTravel() {
+        return maxTravel;
+    }
+
+    public void setMaxTravel(int maxTravel) {
+        this.maxTravel = maxTravel;
+    }
+
+    public int getCurrentTravel() {
+        return currentTravel;
+    }
+
+    public void setCurrentTravel(int currentTravel) {
+        this.currentTravel = currentTravel;
+    }
+
+    public int getMvtDirection() {
+        return mvtDirection;
+    }
+
+    public void setMvtDirection(int mvtDirection) {
+        this.mvtDirection = mvtDirection;
+    }
+
+    public int getDirChangeCount() {
+        return dirChangeCount;
+    }
+
+    public void setDirChangeCount(int dirChangeCount) {
+        this.dirChangeCount = dirChangeCount;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderMotions.java
+ *
+ * Motions returned by GET /sliders/motion and GET /sliders/motion/next,
+ * with the rule constants a client needs to step them
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Either every slider (full) or the motions that changed after the tick the client asked from,
+ * in the order they were applied. A client keeps the last motion of each id
+ * and asks again from tick, the motions already cover every frame up to it.
+ */
+@XmlRootElement // allows for xml
+public class SliderMotions {
+
+    private long tick; // last frame the motions cover
+    private boolean full; // every slider, the client replaces what it has
+    // rules of Slider.timeStep()
+    private int travelSpeed = Slider.TRAVEL_SPEED;
+    private int maxDirChanges = Slider.MAX_DIR_CHANGES;
+    private int decreaseRate = Slider.DECREASE_RATE;
+    private List<SliderMotion> motions = new ArrayList<>();
+
+    public SliderMotions() {
+    }
+
+    SliderMotions(long tick, boolean full, List<SliderMotion> motions) {
+        this.tick = tick;
+        this.full = full;
+        this.motions = motions;
+    }
+
+    // getters and setters for the motions
+    public long getTick() {
+        return tick;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public int getTravelSpeed() {
+        return travelSpeed;
+    }
+
+    public void setTravelSpeed(int travelSpeed) {
+        this.travelSpeed = travelSpeed;
+    }
+
+    public int getMaxDirChanges() {
+        return maxDirChanges;
+    }
+
+    public void setMaxDirChanges(int maxDirChanges) {
+        this.maxDirChanges = maxDirChanges;
+    }
+
+    public int getDecreaseRate() {
+        return decreaseRate;
+    }
+
+    public void setDecreaseRate(int decreaseRate) {
+        this.decreaseRate = decreaseRate;
+    }
+
+    @XmlElement(name = "motion")
+    public List<SliderMotion> getMotions() {
+        return motions;
+    }
+
+    public void setMotions(List<SliderMotion> motions) {
+        this.motions = motions;
+    }
+}
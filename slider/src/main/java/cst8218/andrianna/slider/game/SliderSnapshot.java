@@ -0,0 +1,229 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderSnapshot.java
+ *
+ * Immutable state of every slider after one tick of the game,
+ * shared by all readers of that frame
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import cst8218.andrianna.slider.entity.SliderField;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A frame of the world, captured once as a SliderBinary payload
+ * so the game thread writes one array per tick instead of copying every slider.
+ * Sliders are only decoded when a reader asks for them,
+ * and each serialized variant is rendered once, by the first reader asking for it,
+ * and every later reader of the frame gets the same bytes
+ */
+public final class SliderSnapshot {
+
+    private final long tick; // tick that produced the frame
+    private final long capturedAt; // when the frame was made, in milliseconds like Slider.lastModified
+    private final int size;
+    private final byte[] payload; // count, then one SliderBinary record per slider in the world's order
+    private final ByteBuffer records; // over payload, only read with absolute gets
+    private final boolean ascending; // ids in increasing order, looked up by binary search
+    private volatile Map<Long, Integer> index; // position by id, built on first lookup when not ascending
+    private final ConcurrentHashMap<String, byte[]> rendered = new ConcurrentHashMap<>();
+    /**
+     * Captures the sliders, later ticks cannot change the frame
+     *
+     * @param tick tick that produced the frame
+     * @param sliders state of every slider after the tick
+     */
+    SliderSnapshot(long tick, Collection<Slider> sliders) {
+        this.tick = tick;
+        this.capturedAt = System.currentTimeMillis();
+        this.size = sliders.size();
+        long bytes = SliderBinary.payloadBytes(size);
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Cannot capture " + size + " sliders in one frame");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) bytes).order(SliderBinary.BYTE_ORDER);
+        buffer.putInt(size);
+        boolean increasing = true;
+        long previous = Long.MIN_VALUE;
+        for (Slider slider : sliders) {
+            SliderBinary.write(buffer, slider);
+            long id = slider.getId() == null ? 0L : slider.getId();
+            increasing &= id > previous;
+            previous = id;
+        }
+        this.payload = buffer.array();
+        this.records = ByteBuffer.wrap(payload).order(SliderBinary.BYTE_ORDER);
+        this.ascending = increasing;
+    }
+
+    /**
+     * Copy of a slider with the same id and values
+     * update() is not used because it drops a maxTravel worn down to 0
+     *
+     * @param slider slider to copy
+     * @return the copy
+     */
+    static Slider copy(Slider slider) {
+        Slider copy = new Slider();
+        copy.setId(slider.getId());
+        copy.setX(slider.getX());
+        copy.setY(slider.getY());
+        copy.setSize(slider.getSize());
+        copy.restoreMotion(slider.getMaxTravel(), slider.getCurrentTravel(), slider.getMvtDirection(),
+                slider.getDirChangeCount());
+        return copy;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+    /**
+     * When the frame was made, every REST write it holds had been stamped by then
+     *
+     * @return time in milliseconds
+     */
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+    /**
+     * Number of sliders in the frame
+     *
+     * @return the count
+     */
+    public int size() {
+        return size;
+    }
+    /**
+     * The frame as a SliderBinary payload, which is also the body of a binary response
+     *
+     * @return the bytes, shared by all callers so they must not be modified
+     */
+    public byte[] payload() {
+        return payload;
+    }
+    /**
+     * Id of the slider at a position
+     *
+     * @param index position in the frame, from 0
+     * @return the id
+     */
+    public long id(int index) {
+        return records.getLong(offset(index));
+    }
+    /**
+     * One field of the slider at a position, read without decoding the slider
+     *
+     * @param index position in the frame, from 0
+     * @param field field to read
+     * @return its value
+     */
+    public long value(int index, SliderField field) {
+        int offset = offset(index) + SliderBinary.offset(field);
+        return field == SliderField.ID ? records.getLong(offset) : records.getInt(offset);
+    }
+    /**
+     * Decodes the slider at a position
+     *
+     * @param index position in the frame, from 0
+     * @return a new slider with the values of the frame, including a maxTravel worn down to 0
+     */
+    public Slider get(int index) {
+        ByteBuffer record = records.duplicate().order(SliderBinary.BYTE_ORDER);
+        record.position(offset(index));
+        return SliderBinary.restore(record);
+    }
+    /**
+     * Decodes the sliders of the frame, a new list on every call
+     *
+     * @return the sliders in the world's order
+     */
+    public List<Slider> getSliders() {
+        return getSliders(0, size);
+    }
+    /**
+     * Decodes the sliders at some positions, a new list on every call
+     *
+     * @param from first position, from 0
+     * @param to position after the last one
+     * @return the sliders in the world's order
+     */
+    public List<Slider> getSliders(int from, int to) {
+        ByteBuffer record = records.duplicate().order(SliderBinary.BYTE_ORDER);
+        record.position(offset(from));
+        List<Slider> sliders = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            sliders.add(SliderBinary.restore(record));
+        }
+        return sliders;
+    }
+    /**
+     * Position of a slider in the frame
+     *
+     * @param id id of the slider
+     * @return the position, -1 if the frame does not have it
+     */
+    public int indexOf(long id) {
+        if (ascending) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long found = id(middle);
+                if (found < id) {
+                    low = middle + 1;
+                } else if (found > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+        Integer position = index().get(id);
+        return position == null ? -1 : position;
+    }
+    /**
+     * Serialized form of the frame, rendered on first use
+     * Concurrent callers of the same variant wait for the one rendering it
+     *
+     * @param variant key of the form, e.g. media type and encoding
+     * @param renderer serializes the frame, called at most once per variant
+     * @return the cached bytes, shared by all callers so they must not be modified
+     */
+    public byte[] render(String variant, Function<SliderSnapshot, byte[]> renderer) {
+        return rendered.computeIfAbsent(variant, key -> renderer.apply(this));
+    }
+    /**
+     * Positions by id, for a world whose ids are not in order, e.g. after sliders were read again on load
+     */
+    private Map<Long, Integer> index() {
+        Map<Long, Integer> positions = index;
+        if (positions == null) {
+            positions = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                positions.put(id(i), i);
+            }
+            index = positions; // readers racing here build the same map
+        }
+        return positions;
+    }
+
+    private static int offset(int index) {
+        return SliderBinary.HEADER_BYTES + index * SliderBinary.RECORD_BYTES;
+    }
+}
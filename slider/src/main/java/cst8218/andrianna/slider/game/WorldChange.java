@@ -0,0 +1,55 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * WorldChange.java
+ *
+ * A REST write that the game applies to its world at the start of a tick,
+ * and that the mutation journal records so it can be applied again on replay
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.util.Map;
+
+/**
+ * A slider created or edited (slider set) or deleted (slider null)
+ */
+final class WorldChange {
+
+    private final Long id;
+    private final Slider slider;
+
+    WorldChange(Long id, Slider slider) {
+        this.id = id;
+        this.slider = slider;
+    }
+
+    Long getId() {
+        return id;
+    }
+    /**
+     * Slider as written through REST
+     *
+     * @return the slider, or null when it was deleted
+     */
+    Slider getSlider() {
+        return slider;
+    }
+    /**
+     * Applies the change to a world, the same way during a tick and during replay
+     *
+     * @param world every slider by id
+     */
+    void applyTo(Map<Long, Slider> world) {
+        if (slider == null) {
+            world.remove(id);
+        } else {
+            world.put(id, slider);
+        }
+    }
+}
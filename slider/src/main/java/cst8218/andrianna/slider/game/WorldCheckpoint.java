@@ -0,0 +1,202 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * WorldCheckpoint.java
+ *
+ * The whole world of the game at one tick, saved to a memory-mapped file
+ * so the game can start again from it without reading every slider through JPA
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of a checkpoint file:
+ * int32 magic "SLWC", int32 version, int64 tick, int64 time the world was captured,
+ * int32 count, int32 CRC-32 of the records,
+ * then count SliderBinary records
+ * All values are little-endian
+ */
+public final class WorldCheckpoint {
+
+    public static final int MAGIC = 0x534C5743;
+    public static final int VERSION = 2;
+    // size of everything in front of the records
+    public static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+    // a file is mapped as one buffer, so it cannot be larger than this
+    private static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    private final long tick;
+    private final long capturedAt;
+    private final List<Slider> sliders;
+
+    private WorldCheckpoint(long tick, long capturedAt, List<Slider> sliders) {
+        this.tick = tick;
+        this.capturedAt = capturedAt;
+        this.sliders = Collections.unmodifiableList(sliders);
+    }
+    /**
+     * Tick after which the world was saved
+     *
+     * @return the tick
+     */
+    public long getTick() {
+        return tick;
+    }
+    /**
+     * When the world was captured, not when the file was written:
+     * REST writes stamped after it may be missing from the checkpoint
+     *
+     * @return time in milliseconds, like Slider.lastModified
+     */
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+    /**
+     * Sliders of the world, in the order they were saved
+     *
+     * @return unmodifiable list of the sliders
+     */
+    public List<Slider> getSliders() {
+        return sliders;
+    }
+    /**
+     * Saves the world, replacing the file only once the new checkpoint is complete
+     * The records are written into a mapped temporary file which is then moved over the old one,
+     * so a crash while saving leaves the previous checkpoint in place
+     *
+     * @param file checkpoint file
+     * @param tick tick after which the world is saved
+     * @param capturedAt when the sliders were read or stepped, in milliseconds
+     * @param sliders every slider of the world
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, long tick, long capturedAt, List<Slider> sliders) throws IOException {
+        write(file, tick, capturedAt, sliders.size(), buffer -> {
+            for (Slider slider : sliders) {
+                SliderBinary.write(buffer, slider);
+            }
+        });
+    }
+    /**
+     * Saves a frame of the game, its records are copied as they are
+     *
+     * @param file checkpoint file
+     * @param frame frame to save
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, SliderSnapshot frame) throws IOException {
+        write(file, frame.getTick(), frame.getCapturedAt(), frame.size(), buffer -> buffer.put(frame.payload(),
+                SliderBinary.HEADER_BYTES, frame.payload().length - SliderBinary.HEADER_BYTES));
+    }
+
+    private static void write(Path file, long tick, long capturedAt, int count, Consumer<ByteBuffer> records)
+            throws IOException {
+        long size = HEADER_BYTES + (long) count * SliderBinary.RECORD_BYTES;
+        if (size > MAX_BYTES) {
+            throw new IOException("Cannot checkpoint " + count + " sliders in one file");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(SliderBinary.BYTE_ORDER);
+            buffer.position(HEADER_BYTES);
+            records.accept(buffer);
+            // header last, with the checksum of the records
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, tick);
+            buffer.putLong(16, capturedAt);
+            buffer.putInt(24, count);
+            buffer.putInt(28, checksum(buffer));
+            buffer.force();
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    /**
+     * Loads a checkpoint
+     *
+     * @param file checkpoint file
+     * @return the checkpoint, or null if the file does not exist
+     * @throws IOException if the file cannot be read, is not a checkpoint or is corrupt
+     */
+    public static WorldCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(file, channel);
+        }
+    }
+    /**
+     * Loads a checkpoint from a file already open, which stays readable if the file is deleted meanwhile
+     *
+     * @param file checkpoint file, for the messages
+     * @param channel the file opened for reading, left open
+     * @return the checkpoint
+     * @throws IOException if the file cannot be read, is not a checkpoint or is corrupt
+     */
+    static WorldCheckpoint read(Path file, FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES || size > MAX_BYTES) {
+            throw new IOException("Checkpoint " + file + " has an invalid size of " + size + " bytes");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(SliderBinary.BYTE_ORDER);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException(file + " is not a version " + VERSION + " world checkpoint");
+        }
+        long tick = buffer.getLong();
+        long capturedAt = buffer.getLong();
+        int count = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (count < 0 || size != HEADER_BYTES + (long) count * SliderBinary.RECORD_BYTES) {
+            throw new IOException("Checkpoint " + file + " is truncated");
+        }
+        if (checksum(buffer) != checksum) {
+            throw new IOException("Checkpoint " + file + " is corrupt");
+        }
+        List<Slider> sliders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sliders.add(SliderBinary.restore(buffer));
+        }
+        return new WorldCheckpoint(tick, capturedAt, sliders);
+    }
+    /**
+     * CRC-32 of the records, from HEADER_BYTES to the end of the buffer
+     */
+    private static int checksum(ByteBuffer buffer) {
+        ByteBuffer records = buffer.duplicate();
+        records.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(records);
+        return (int) crc.getValue();
+    }
+}
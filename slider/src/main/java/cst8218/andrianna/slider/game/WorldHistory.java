@@ -0,0 +1,156 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * WorldHistory.java
+ *
+ * Past checkpoints kept with the journal segments after them,
+ * so the world of any tick since the oldest one can be rebuilt
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The archive is a directory next to the current checkpoint and journal, holding
+ * slider-world-(tick).ckpt for every checkpoint and the segments moved there once a checkpoint covers them.
+ * Only the newest checkpoints up to a limit are kept, with the segments after the oldest of them.
+ */
+public final class WorldHistory {
+
+    private static final String ARCHIVE = "archive";
+    private static final String PREFIX = "slider-world-";
+    private static final String SUFFIX = ".ckpt";
+
+    private final Path directory;
+    private final Path archive;
+    private final int keep;
+    /**
+     * History of the checkpoint and journal in a directory
+     *
+     * @param directory data directory of the game
+     * @param keep most checkpoints kept, at least 1
+     */
+    public WorldHistory(Path directory, int keep) {
+        this.directory = directory;
+        this.archive = directory.resolve(ARCHIVE);
+        this.keep = Math.max(1, keep);
+    }
+    /**
+     * Archives a checkpoint just written with the segments it covers, then drops the oldest beyond the limit
+     *
+     * @param checkpoint the checkpoint file, linked or copied into the archive
+     * @param tick tick of the checkpoint
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized void archive(Path checkpoint, long tick) throws IOException {
+        Files.createDirectories(archive);
+        Path copy = archive.resolve(PREFIX + tick + SUFFIX);
+        Files.deleteIfExists(copy);
+        try {
+            // the checkpoint is replaced by a move, so the link keeps this version
+            Files.createLink(copy, checkpoint);
+        } catch (UnsupportedOperationException | IOException exception) {
+            Files.copy(checkpoint, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        MutationJournal.moveUpTo(directory, archive, tick);
+        TreeMap<Long, Path> checkpoints = checkpoints();
+        while (checkpoints.size() > keep) {
+            Files.delete(checkpoints.pollFirstEntry().getValue());
+        }
+        // segments starting at or before the oldest checkpoint only hold ticks it covers
+        MutationJournal.deleteUpTo(archive, checkpoints.firstKey());
+    }
+    /**
+     * Deletes the whole archive, when the ticks start over
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    public synchronized void clear() throws IOException {
+        for (Path checkpoint : checkpoints().values()) {
+            Files.delete(checkpoint);
+        }
+        MutationJournal.deleteUpTo(archive, Long.MAX_VALUE);
+    }
+    /**
+     * Rebuilds the world after a tick from the newest archived checkpoint at or before it
+     * and the journal after that checkpoint
+     * Only the files are opened under the lock, the replay runs outside it so archive is not held up,
+     * and files it prunes meanwhile stay readable while they are open
+     *
+     * @param tick tick to rebuild, the game must have reached it
+     * @return every slider by id in the order of the game's world, or null if the archive starts after the tick
+     * @throws IOException if the archive cannot be read, a checkpoint is corrupt
+     * or a corrupt journal record stops the replay before the tick
+     */
+    public Map<Long, Slider> rebuild(long tick) throws IOException {
+        Path file;
+        FileChannel checkpointChannel;
+        List<FileChannel> segments;
+        synchronized (this) {
+            Map.Entry<Long, Path> base = checkpoints().floorEntry(tick);
+            if (base == null) {
+                return null;
+            }
+            file = base.getValue();
+            checkpointChannel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                segments = MutationJournal.open(List.of(archive, directory), base.getKey());
+            } catch (IOException exception) {
+                checkpointChannel.close();
+                throw exception;
+            }
+        }
+        try (FileChannel channel = checkpointChannel) {
+            WorldCheckpoint checkpoint = WorldCheckpoint.read(file, channel);
+            Map<Long, Slider> world = new LinkedHashMap<>();
+            for (Slider slider : checkpoint.getSliders()) {
+                world.put(slider.getId(), slider);
+            }
+            long reached = MutationJournal.replayTo(segments, checkpoint.getTick(), tick, world);
+            if (reached < tick) {
+                throw new IOException("A corrupt journal record stops the replay at tick " + reached
+                        + ", tick " + tick + " cannot be rebuilt");
+            }
+            return world;
+        } finally {
+            MutationJournal.close(segments);
+        }
+    }
+    /**
+     * Archived checkpoint files by tick, in tick order
+     */
+    private TreeMap<Long, Path> checkpoints() throws IOException {
+        TreeMap<Long, Path> checkpoints = new TreeMap<>();
+        if (!Files.isDirectory(archive)) {
+            return checkpoints;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archive, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    checkpoints.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())),
+                            file);
+                } catch (NumberFormatException exception) {
+                    // not an archived checkpoint
+                }
+            }
+        }
+        return checkpoints;
+    }
+}
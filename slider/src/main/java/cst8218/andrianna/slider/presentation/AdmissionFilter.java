@@ -0,0 +1,94 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * AdmissionFilter.java
+ *
+ * Admission control for the @RateLimited endpoints,
+ * so one client hammering them cannot take the connections the game needs to save the world
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import jakarta.annotation.Priority;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two checks, in order:
+ * a token bucket per client address, 429 with Retry-After when it is empty,
+ * then the limit of AdmissionPermits on requests in progress, 503 with Retry-After when it is reached.
+ * The permit is taken here, where the resource method is known, and given back by AdmissionRelease.
+ * The per-client limits can be changed with the system properties below.
+ */
+@Provider
+@RateLimited
+@Priority(Priorities.AUTHORIZATION)
+public class AdmissionFilter implements ContainerRequestFilter {
+
+    // requests per second per client, 0 or less turns the per-client limit off
+    public static final String RATE_PROPERTY = "slider.admission.rate";
+    // requests a client may make at once before the rate applies
+    public static final String BURST_PROPERTY = "slider.admission.burst";
+    // clients with a bucket of their own, the ones beyond it share one until some are idle
+    public static final String CLIENTS_PROPERTY = "slider.admission.clients";
+    private static final double DEFAULT_RATE = 100;
+    private static final int DEFAULT_BURST = 200;
+    private static final int DEFAULT_CLIENTS = 65_536;
+
+    // the runtime may create more than one instance, the limits are for the whole application
+    private static final ClientRateLimiter LIMITER = createLimiter();
+
+    @Context // the current request, for the client address and the permit
+    private HttpServletRequest servletRequest;
+    /**
+     * Per-client limiter from the system properties
+     *
+     * @return the limiter, or null when the rate turns it off
+     */
+    private static ClientRateLimiter createLimiter() {
+        double rate = Double.parseDouble(System.getProperty(RATE_PROPERTY, String.valueOf(DEFAULT_RATE)));
+        int burst = Integer.getInteger(BURST_PROPERTY, DEFAULT_BURST);
+        int clients = Integer.getInteger(CLIENTS_PROPERTY, DEFAULT_CLIENTS);
+        return rate > 0 ? new ClientRateLimiter(rate, burst, clients) : null;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (LIMITER != null) {
+            String client = servletRequest.getRemoteAddr();
+            long wait = LIMITER.acquire(client);
+            if (wait > 0) {
+                request.abortWith(rejected(Response.Status.TOO_MANY_REQUESTS, wait,
+                        "Too many requests from " + client)); // 429
+                return;
+            }
+        }
+        if (!AdmissionPermits.tryAcquire(servletRequest)) {
+            request.abortWith(rejected(Response.Status.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "The server is busy")); // 503
+        }
+    }
+    /**
+     * Response refusing a request, Retry-After is in whole seconds rounded up
+     */
+    private static Response rejected(Response.Status status, long waitNanos, String message) {
+        long seconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return Response.status(status)
+                .header(HttpHeaders.RETRY_AFTER, seconds)
+                .entity(message)
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+    }
+}
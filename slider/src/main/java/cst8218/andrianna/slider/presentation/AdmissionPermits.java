@@ -0,0 +1,144 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * AdmissionPermits.java
+ *
+ * Limit on the @RateLimited requests in progress, shared by AdmissionFilter, which takes the permits,
+ * and AdmissionRelease, which gives them back
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * The limit leaves GAME_CONNECTIONS of the pool to the game.
+ * The pool size is read from WEB-INF/glassfish-resources.xml, the limit can be changed with the system property below.
+ * A permit is kept as a request attribute, so only admitted requests give one back, once.
+ */
+final class AdmissionPermits {
+
+    // requests in progress at once, over all clients, instead of the pool size less GAME_CONNECTIONS
+    static final String CONCURRENCY_PROPERTY = "slider.admission.concurrency";
+    // connections always left to the game for loading and saving the world
+    static final int GAME_CONNECTIONS = 2;
+    // pool definitions deployed with the application
+    private static final String RESOURCES = "/WEB-INF/glassfish-resources.xml";
+    // jta-data-source of SliderPU, its pool is the one shared with the game
+    private static final String DATA_SOURCE = "java:app/MariaDB";
+    // max-pool-size GlassFish uses when the pool does not set one
+    private static final int DEFAULT_POOL_SIZE = 32;
+    // request attribute holding the permit of an admitted request
+    private static final String PERMIT = AdmissionPermits.class.getName() + ".permit";
+    private static final Logger LOG = Logger.getLogger(AdmissionPermits.class.getName());
+
+    // one limit for the whole application, however many filter instances the runtimes create
+    private static volatile Semaphore inProgress;
+
+    private AdmissionPermits() {
+    }
+    /**
+     * Takes a permit for a request
+     *
+     * @param request the request, which holds the permit until release
+     * @return false if the limit is reached
+     */
+    static boolean tryAcquire(ServletRequest request) {
+        Semaphore semaphore = inProgress(request.getServletContext());
+        if (!semaphore.tryAcquire()) {
+            return false;
+        }
+        request.setAttribute(PERMIT, semaphore);
+        return true;
+    }
+    /**
+     * Gives back the permit of a request, if it holds one
+     *
+     * @param request the request
+     */
+    static void release(ServletRequest request) {
+        Object permit = request.getAttribute(PERMIT);
+        if (permit != null) {
+            request.removeAttribute(PERMIT);
+            ((Semaphore) permit).release();
+        }
+    }
+    /**
+     * Limit on requests in progress, sized from the pool the first time it is needed
+     * 
+     * @param context the application, to read its pool definitions
+     * @return the semaphore shared by every request
+     */
+    static Semaphore inProgress(ServletContext context) {
+        Semaphore semaphore = inProgress;
+        if (semaphore == null) {
+            synchronized (AdmissionPermits.class) {
+                semaphore = inProgress;
+                if (semaphore == null) {
+                    int limit = Integer.getInteger(CONCURRENCY_PROPERTY, poolSize(context) - GAME_CONNECTIONS);
+                    semaphore = new Semaphore(Math.max(1, limit));
+                    inProgress = semaphore;
+                    LOG.log(Level.INFO, "Admitting {0} rate limited requests at once", semaphore.availablePermits());
+                }
+            }
+        }
+        return semaphore;
+    }
+    /**
+     * max-pool-size of the pool behind DATA_SOURCE in the deployed glassfish-resources.xml
+     * 
+     * @param context the application
+     * @return the pool size, DEFAULT_POOL_SIZE if the pool is not found or does not set it
+     */
+    static int poolSize(ServletContext context) {
+        try (InputStream in = context.getResourceAsStream(RESOURCES)) {
+            if (in == null) {
+                return DEFAULT_POOL_SIZE;
+            }
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            // the DOCTYPE names a DTD on glassfish.org, it is not fetched
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            Document document = factory.newDocumentBuilder().parse(in);
+            String pool = attributeOf(document, "jdbc-resource", "jndi-name", DATA_SOURCE, "pool-name");
+            String size = attributeOf(document, "jdbc-connection-pool", "name", pool, "max-pool-size");
+            if (size != null && !size.isEmpty()) {
+                return Integer.parseInt(size.trim());
+            }
+        } catch (IOException | ParserConfigurationException | SAXException | NumberFormatException exception) {
+            LOG.log(Level.WARNING, "Cannot read the pool size from " + RESOURCES + ", using " + DEFAULT_POOL_SIZE,
+                    exception);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+    /**
+     * Attribute of the first element with a tag whose key attribute has a value
+     * 
+     * @return the attribute, null if no element matches
+     */
+    private static String attributeOf(Document document, String tag, String key, String value, String attribute) {
+        NodeList elements = document.getElementsByTagName(tag);
+        for (int i = 0; i < elements.getLength(); i++) {
+            Element element = (Element) elements.item(i);
+            if (element.getAttribute(key).equals(value)) {
+                return element.getAttribute(attribute);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * AdmissionRelease.java
+ *
+ * Servlet filter giving back the permit AdmissionFilter took for a request
+ * once the request leaves the JAX-RS servlet
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import java.io.IOException;
+
+/**
+ * The permit is given back in a finally, whether the resource method answered, threw or suspended the request,
+ * so it is returned for exceptions no mapper handles too.
+ * A suspended request gives it back while it waits: the long polls only wait for frames
+ * and do not use the database once resumed.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true) // every request, only admitted ones hold a permit
+public class AdmissionRelease implements Filter {
+
+    @Override
+    public void init(FilterConfig config) {
+        AdmissionPermits.inProgress(config.getServletContext()); // sized on deployment rather than by the first request
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AdmissionPermits.release(request);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * ClientRateLimiter.java
+ *
+ * A token bucket per client, kept in a bounded concurrent map of counters
+ * that are updated with compare-and-set instead of locks
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Each bucket is one long: the time at which it is full again.
+ * Taking a token pushes that time one interval further, and a request is refused
+ * when the bucket would have to be more than empty.
+ * A full bucket holds nothing a new one would not, so idle clients are evicted once the map reaches its bound.
+ * Clients that arrive while every tracked client is still active share one overflow bucket until some are idle.
+ */
+public final class ClientRateLimiter {
+
+    // value of a bucket being removed, a client reading it takes a new one
+    private static final long EVICTED = Long.MIN_VALUE;
+    // least time between two sweeps for idle buckets
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final long interval; // nanoseconds to refill one token
+    private final long capacity; // nanoseconds to refill a whole bucket
+    private final int maxClients;
+    private final long origin = System.nanoTime(); // times are kept relative to this
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(); // bucket of the clients beyond maxClients
+    private final AtomicLong nextSweep = new AtomicLong(); // time before which there is no sweep
+    /**
+     * Creates full buckets
+     *
+     * @param rate tokens per second each client gets back
+     * @param burst tokens in a full bucket, i.e. requests a client may make at once
+     * @param maxClients clients with a bucket of their own at once
+     */
+    public ClientRateLimiter(double rate, int burst, int maxClients) {
+        if (rate <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("The rate, burst and number of clients must be positive");
+        }
+        this.interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.capacity = interval * burst;
+        this.maxClients = maxClients;
+    }
+    /**
+     * Takes a token from the client's bucket
+     *
+     * @param client identity of the client, e.g. its address
+     * @return 0 if the request is admitted, otherwise nanoseconds until a token is back
+     */
+    public long acquire(String client) {
+        while (true) {
+            long now = System.nanoTime() - origin;
+            AtomicLong bucket = bucketOf(client, now);
+            long current = bucket.get();
+            if (current == EVICTED) {
+                buckets.remove(client, bucket); // finishes the eviction, the next loop takes a new bucket
+                continue;
+            }
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait; // refused, the bucket is left as it is
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    /**
+     * Number of clients with a bucket of their own
+     *
+     * @return the count, at most the bound plus the clients added during a sweep
+     */
+    public int clients() {
+        return buckets.size();
+    }
+    /**
+     * The client's own bucket, or the overflow bucket when the map is full of active clients
+     */
+    private AtomicLong bucketOf(String client, long now) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients && !sweep(now)) {
+            return overflow;
+        }
+        // a new bucket is full: its time is not after now
+        return buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+    }
+    /**
+     * Evicts the buckets that are full again, at most once per SWEEP_INTERVAL
+     *
+     * @return true if there is room for a new client afterwards
+     */
+    private boolean sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL)) {
+            for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                AtomicLong bucket = entry.getValue();
+                long full = bucket.get();
+                // marked first, so a token taken meanwhile fails its compare-and-set instead of being lost
+                if (full != EVICTED && full <= now && bucket.compareAndSet(full, EVICTED)) {
+                    buckets.remove(entry.getKey(), bucket);
+                }
+            }
+        }
+        return buckets.size() < maxClients;
+    }
+}
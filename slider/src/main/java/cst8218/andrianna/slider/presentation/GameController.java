@@ -0,0 +1,154 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * GameController.java
+ *
+ * RESTful web service for the state of the game loop
+ * and the admin endpoints that pause, resume and step it, or rebuild a past frame
+ * Uses the SliderGame EJB that runs the loop
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import cst8218.andrianna.slider.game.GameStats;
+import cst8218.andrianna.slider.game.SliderGame;
+import jakarta.ejb.EJB;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * RESTful endpoints to observe and control the game loop
+ */
+@Path("game")
+public class GameController {
+
+    // longest POST /game/step waits for its tick
+    private static final int STEP_TIMEOUT_SECONDS = 5;
+
+    @EJB //injecting the EJB that runs the game
+    private SliderGame sliderGame;
+
+    /**
+     * GET /game/stats
+     * Retrieves the frame counters of the game loop
+     *
+     * @return current GameStats
+     */
+    @GET
+    @Path("stats")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public GameStats getStats() {
+        return sliderGame.getStats();
+    }
+    /**
+     * GET /game/world?tick={tick}
+     * Rebuilds the sliders of a past frame from the archived checkpoints and the journal
+     *
+     * @param at tick of the frame
+     * @return list of Slider objects, 400 error without a tick,
+     * 404 error if the tick is in the future or older than the archive,
+     * 500 error naming the tick the replay stopped at if the journal is corrupt before the tick
+     */
+    @RateLimited // replays the journal from the archive
+    @GET
+    @Path("world")
+    @Produces({MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
+    public Response getWorld(@QueryParam("tick") Long at) {
+        if (at == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("The tick to rebuild is required")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build(); // 400
+        }
+        List<Slider> sliders;
+        try {
+            sliders = sliderGame.worldAt(at);
+        } catch (IOException exception) {
+            return Response.serverError()
+                    .entity("Cannot rebuild the world of tick " + at + ": " + exception.getMessage())
+                    .type(MediaType.TEXT_PLAIN)
+                    .build(); // 500, never a wrong world
+        }
+        if (sliders == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Tick " + at + " is not in the archive")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build(); // 404
+        }
+        return Response.ok(new GenericEntity<List<Slider>>(sliders) {}).build();
+    }
+    /**
+     * POST /game/pause
+     * Stops the ticks, GET /sliders keeps returning the last frame
+     *
+     * @return GameStats after the pause
+     */
+    @POST
+    @Path("pause")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public GameStats pause() {
+        sliderGame.pause();
+        return sliderGame.getStats();
+    }
+    /**
+     * POST /game/resume
+     * Takes ticks again after a pause, or starts the game if it is not running
+     *
+     * @return GameStats after the resume
+     */
+    @RateLimited // starting the game loads the world from the database
+    @POST
+    @Path("resume")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public GameStats resume() {
+        sliderGame.resume();
+        return sliderGame.getStats();
+    }
+    /**
+     * POST /game/step
+     * Runs one tick while the game is paused, answers once its frame is published
+     *
+     * @param response resumed with the GameStats after the tick,
+     * 409 error if the game is not paused, 503 error if the tick does not come in time
+     */
+    @POST
+    @Path("step")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public void step(@Suspended AsyncResponse response) {
+        long before = sliderGame.currentTick();
+        if (!sliderGame.step()) {
+            response.resume(Response.status(Response.Status.CONFLICT)
+                    .entity("The game is not paused, pause it before stepping")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build()); // 409
+            return;
+        }
+        AtomicReference<Runnable> cancel = new AtomicReference<>();
+        response.setTimeout(STEP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        response.setTimeoutHandler(expired -> {
+            Runnable stopWaiting = cancel.get();
+            if (stopWaiting != null) {
+                stopWaiting.run();
+            }
+            expired.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity("The tick did not run in time")
+                    .type(MediaType.TEXT_PLAIN)
+                    .build()); // 503
+        });
+        cancel.set(sliderGame.awaitFrame(before, frame -> response.resume(sliderGame.getStats())));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * ProducedVariants.java
+ *
+ * Variants for Request.selectVariant in the order of the resource method's @Produces,
+ * so negotiating by hand picks the same media type as the providers would
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Variant;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * With Accept: *&#47;* or no Accept, selectVariant returns the first variant,
+ * so the list follows @Produces like the container does for the same method.
+ * Each user keeps one instance for the media types it can write.
+ */
+final class ProducedVariants {
+
+    private final List<MediaType> supported;
+    // resource methods do not change, so the list is built once per method
+    private final Map<Method, List<Variant>> variants = new ConcurrentHashMap<>();
+    /**
+     * @param supported media types the caller can write, in the order used without @Produces
+     */
+    ProducedVariants(MediaType... supported) {
+        this.supported = List.of(supported);
+    }
+    /**
+     * Variants of the matched resource method
+     *
+     * @param resource matched resource, from @Context
+     * @return the supported media types in @Produces order, every supported one without @Produces
+     */
+    List<Variant> of(ResourceInfo resource) {
+        return variants.computeIfAbsent(resource.getResourceMethod(),
+                method -> build(method, resource.getResourceClass()));
+    }
+
+    private List<Variant> build(Method method, Class<?> resourceClass) {
+        Produces produces = method.getAnnotation(Produces.class);
+        if (produces == null) {
+            produces = resourceClass.getAnnotation(Produces.class);
+        }
+        List<MediaType> types = new ArrayList<>();
+        if (produces == null) {
+            types.addAll(supported);
+        } else {
+            for (String value : produces.value()) {
+                for (String type : value.split(",")) {
+                    MediaType produced = MediaType.valueOf(type.trim());
+                    for (MediaType candidate : supported) {
+                        if (candidate.isCompatible(produced) && !types.contains(candidate)) {
+                            types.add(candidate);
+                        }
+                    }
+                }
+            }
+        }
+        return Variant.mediaTypes(types.toArray(new MediaType[0])).add().build();
+    }
+}
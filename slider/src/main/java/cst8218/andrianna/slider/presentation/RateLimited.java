@@ -0,0 +1,33 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Annotation.java to edit this template
+ */
+/**
+ * RateLimited.java
+ *
+ * Marks the endpoints that go through AdmissionFilter, every one that reads or writes the sliders
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import jakarta.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Name binding for the endpoints that write the sliders to the database, and the ones that read them,
+ * which serve, project or rebuild the world on every request, from the current frame, the motions or the archive.
+ * They are rate limited per client and limited together in the requests in progress,
+ * so they leave the game its database connections.
+ * The long polls, which only wait for a frame, and the game's stats and controls are not bound,
+ * except POST /game/resume, which loads the world from the database.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RateLimited {
+}
@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderBinaryProvider.java
+ *
+ * Reads and writes Slider and List of Slider in the compact binary media type,
+ * so every resource method that lists it takes part in content negotiation
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JAX-RS provider for SliderBinary payloads
+ * Records are streamed through one fixed size buffer per call,
+ * nothing is allocated per slider on the way out
+ */
+@Provider
+@Produces(SliderBinary.MEDIA_TYPE)
+@Consumes(SliderBinary.MEDIA_TYPE)
+public class SliderBinaryProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    // records buffered between writes to the stream
+    private static final int CHUNK_RECORDS = 256;
+    // upper bound for the initial list capacity, so a bad header cannot allocate a huge list
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == Slider.class
+                || (type.isAssignableFrom(ArrayList.class) && isSliderCollection(genericType));
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == Slider.class
+                || (Collection.class.isAssignableFrom(type) && isSliderCollection(genericType));
+    }
+    /**
+     * Checks for Collection of Slider, List of Slider and the like
+     *
+     * @param genericType declared type of the entity
+     * @return true if its only type argument is Slider
+     */
+    private static boolean isSliderCollection(Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+        Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        return arguments.length == 1 && arguments[0] == Slider.class;
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream out) throws IOException {
+        Collection<?> sliders = entity instanceof Slider ? List.of(entity) : (Collection<?>) entity;
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_RECORDS * SliderBinary.RECORD_BYTES)
+                .order(SliderBinary.BYTE_ORDER);
+        buffer.putInt(sliders.size());
+        for (Object slider : sliders) {
+            if (buffer.remaining() < SliderBinary.RECORD_BYTES) {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            SliderBinary.write(buffer, (Slider) slider);
+        }
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders, InputStream in) throws IOException {
+        boolean single = Slider.class.equals(type);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_RECORDS * SliderBinary.RECORD_BYTES)
+                .order(SliderBinary.BYTE_ORDER);
+        fill(in, buffer, SliderBinary.HEADER_BYTES);
+        int count = buffer.getInt();
+        if (count < 0 || (single && count != 1)) {
+            throw new BadRequestException("Invalid slider count " + count + " in " + SliderBinary.MEDIA_TYPE + " payload");
+        }
+        List<Slider> sliders = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+        int remaining = count;
+        while (remaining > 0) {
+            int records = Math.min(remaining, CHUNK_RECORDS);
+            fill(in, buffer, records * SliderBinary.RECORD_BYTES);
+            for (int i = 0; i < records; i++) {
+                sliders.add(SliderBinary.read(buffer));
+            }
+            remaining -= records;
+        }
+        // the header's count must cover the whole payload
+        if (in.read() != -1) {
+            throw new BadRequestException("Trailing bytes after " + count + " records in " + SliderBinary.MEDIA_TYPE + " payload");
+        }
+        return single ? sliders.get(0) : sliders;
+    }
+    /**
+     * Reads exactly length bytes into the start of the buffer and flips it for reading
+     *
+     * @throws BadRequestException if the payload ends early
+     */
+    private static void fill(InputStream in, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear();
+        if (in.readNBytes(buffer.array(), 0, length) != length) {
+            throw new BadRequestException("Truncated " + SliderBinary.MEDIA_TYPE + " payload");
+        }
+        buffer.limit(length);
+    }
+}
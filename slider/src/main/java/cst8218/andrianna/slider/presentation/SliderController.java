@@ -14,13 +14,24 @@
 package cst8218.andrianna.slider.presentation;
 
 import cst8218.andrianna.slider.game.SliderFacade;
+import cst8218.andrianna.slider.game.SliderGame;
+import cst8218.andrianna.slider.game.SliderMotions;
+import cst8218.andrianna.slider.game.SliderSnapshot;
 import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
 import jakarta.ejb.EJB;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Uses RESTful endpoints to manage the Slider entities
@@ -33,33 +44,169 @@ public class SliderController {
     @EJB //injecting the EJB for handling sliders
     private SliderFacade sliderFacade;
     
+    // longest a GET /sliders/next may wait for a frame
+    public static final int MAX_WAIT_SECONDS = 60;
+    
+    @EJB //injecting the game for its current frame and to apply writes
+    private SliderGame sliderGame;
+    
     /**
      * GET /sliders
-     * Retrieves list of al slider from the database
+     * Retrieves list of al slider, from the game's current frame
+     * The frame is serialized once per media type and shared by every reader
+     * 
+     * GET /sliders?fields=id,x,y,size selects only those columns and returns only those fields
+     * 
+     * @param fields comma separated fields to return, all of them when absent
+     * @param request request used to negotiate the media type
+     * @param headers request headers, gzip is used when Accept-Encoding allows it
+     * @param resource matched method, the frame's and projection's media types follow its @Produces
+     * @return list of SLider objects, 400 if a field is unknown, 503 before the world is loaded
+     */
+    @RateLimited
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
+    public Response getSliders(@QueryParam("fields") String fields, @Context Request request,
+            @Context HttpHeaders headers, @Context ResourceInfo resource) {
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        if (fields != null) {
+            return SliderProjection.list(fields, resource, request, snapshot, 0, snapshot.size());
+        }
+        return SliderSnapshots.ok(snapshot, resource, request, headers); // cached bytes of the current frame
+    }
+    /**
+     * GET /sliders/next?after={tick}
+     * Long poll for the first frame newer than the given tick
+     * The request is suspended without holding a container thread and resumed
+     * when the game publishes the frame, or with 204 when the timeout expires
+     * 
+     * @param after tick of the frame the client has, from the X-Slider-Tick header
+     * @param timeout seconds to wait, at most MAX_WAIT_SECONDS
+     * @param request request used to negotiate the media type
+     * @param headers request headers, gzip is used when Accept-Encoding allows it
+     * @param resource matched method, the frame's media types follow its @Produces
+     * @param response suspended response, resumed with the frame
+     */
+    @GET
+    @Path("next")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
+    public void nextFrame(@QueryParam("after") @DefaultValue("-1") long after,
+            @QueryParam("timeout") @DefaultValue("30") int timeout,
+            @Context Request request, @Context HttpHeaders headers, @Context ResourceInfo resource,
+            @Suspended AsyncResponse response) {
+        // negotiated now, the frame is sent from another thread
+        SliderSnapshots.Format format = SliderSnapshots.negotiate(resource, request, headers);
+        if (format == null) {
+            response.resume(SliderSnapshots.notAcceptable(resource)); // 406
+            return;
+        }
+        if (!sliderGame.isRunning()) {
+            response.resume(notRunning());
+            return;
+        }
+        AtomicReference<Runnable> cancel = new AtomicReference<>();
+        response.setTimeout(Math.max(1, Math.min(timeout, MAX_WAIT_SECONDS)), TimeUnit.SECONDS);
+        response.setTimeoutHandler(expired -> {
+            Runnable stopWaiting = cancel.get();
+            if (stopWaiting != null) {
+                stopWaiting.run(); // so the game does not keep the expired request
+            }
+            expired.resume(Response.noContent()
+                    .header(SliderSnapshots.TICK_HEADER, sliderGame.currentTick())
+                    .build()); // 204, ask again
+        });
+        cancel.set(sliderGame.awaitFrame(after, frame -> response.resume(SliderSnapshots.ok(frame, format))));
+    }
+    /**
+     * GET /sliders/motion?after={tick}
+     * Motion descriptors a client steps locally instead of fetching every frame
+     * Every slider on the first call, then only the motions REST writes changed after the tick
      * 
-     * @return list of SLider objects
+     * @param after tick of the last motions the client got, -1 for every slider
+     * @return SliderMotions up to the current frame, 503 error if the game is not running
      */
+    @RateLimited
     @GET
+    @Path("motion")
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
-    public List<Slider> getSliders() {
-        return sliderFacade.findAll(); // calls facade to find all sliders
+    public Response getMotions(@QueryParam("after") @DefaultValue("-1") long after) {
+        SliderMotions motions = sliderGame.motionsSince(after);
+        if (motions == null) {
+            return notRunning();
+        }
+        return Response.ok(motions).header(SliderSnapshots.TICK_HEADER, motions.getTick()).build();
+    }
+    /**
+     * GET /sliders/motion/next?after={tick}
+     * Long poll for the next motion change, answered only when a REST write changes a slider
+     * instead of on every frame, or with 204 when the timeout expires
+     * 
+     * @param after tick of the last motions the client got
+     * @param timeout seconds to wait, at most MAX_WAIT_SECONDS
+     * @param response suspended response, resumed with the SliderMotions after the tick
+     */
+    @GET
+    @Path("motion/next")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public void nextMotions(@QueryParam("after") @DefaultValue("-1") long after,
+            @QueryParam("timeout") @DefaultValue("30") int timeout, @Suspended AsyncResponse response) {
+        if (!sliderGame.isRunning()) {
+            response.resume(notRunning());
+            return;
+        }
+        AtomicReference<Runnable> cancel = new AtomicReference<>();
+        response.setTimeout(Math.max(1, Math.min(timeout, MAX_WAIT_SECONDS)), TimeUnit.SECONDS);
+        response.setTimeoutHandler(expired -> {
+            Runnable stopWaiting = cancel.get();
+            if (stopWaiting != null) {
+                stopWaiting.run();
+            }
+            expired.resume(Response.noContent()
+                    .header(SliderSnapshots.TICK_HEADER, sliderGame.currentTick())
+                    .build()); // 204, the client's motions still hold
+        });
+        cancel.set(sliderGame.awaitMotion(after, frame -> response.resume(getMotions(after))));
+    }
+
+    private static Response notRunning() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity("The game is not running, no frames will be published")
+                .type(MediaType.TEXT_PLAIN)
+                .build(); // 503
     }
     /**
      * GET /sliders/{id}
-     * Retrieves a slider by its Id
+     * Retrieves a slider by its Id, from the game's current frame
+     * 
+     * GET /sliders/{id}?fields=x,y returns only those fields
      * 
      * @param id Id of the slider
-     * @return the slider if found, 404 error if not found
+     * @param fields comma separated fields to return, all of them when absent
+     * @param request request used to negotiate the media type of a projection
+     * @param resource matched method, the projection's media types follow its @Produces
+     * @return the slider if found, 404 error if not found, 503 before the world is loaded
      */
+    @RateLimited
     @GET
     @Path("{id}") // path parameter
-    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
-    public Response getSlider(@PathParam("id") Long id) {
-        Slider slider = sliderFacade.find(id); // finds the slider Id
-        if (slider == null) {
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
+    public Response getSlider(@PathParam("id") Long id, @QueryParam("fields") String fields,
+            @Context Request request, @Context ResourceInfo resource) {
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        if (fields != null) {
+            return SliderProjection.single(fields, resource, request, snapshot, id);
+        }
+        int index = snapshot.indexOf(id); // finds the slider Id
+        if (index < 0) {
             return Response.status(Response.Status.NOT_FOUND).build(); // returns 404
         }
-        return Response.ok(slider).build(); // return 200
+        return Response.ok(snapshot.get(index)).header(SliderSnapshots.TICK_HEADER, snapshot.getTick()).build(); // return 200
     }
     /**
      * POST /slider
@@ -68,11 +215,13 @@ public class SliderController {
      * @param slider slider object to create
      * @return 201 created response with the created slider
      */
+    @RateLimited
     @POST
-    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
-    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
     public Response createSlider(Slider slider) {
         sliderFacade.create(slider); // calls facade to create the new slider
+        sliderGame.saved(slider); // the game adds it to the world at the next tick
         return Response.status(Response.Status.CREATED).entity(slider).build();// returns 201 for created slider
     }
     /**
@@ -83,10 +232,11 @@ public class SliderController {
      * @param slider updated slider object
      * @return 200 OK response with updated slider, or 404 if not found
      */
+    @RateLimited
     @PUT
     @Path("{id}")
-    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
-    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
     public Response editSlider(@PathParam("id") Long id, Slider slider) {
         Slider existingSlider = sliderFacade.find(id); //finds the slider using id
         if (existingSlider == null) {
@@ -94,6 +244,7 @@ public class SliderController {
         }
         slider.setId(id); // sets id of the updated slider (perserves it) to the existing one
         sliderFacade.edit(slider); // calls facade to update the slider
+        sliderGame.saved(slider);
         return Response.ok(slider).build(); // builds the new slider with 200 response
     }
     /**
@@ -103,15 +254,17 @@ public class SliderController {
      * @param id id of slider
      * @return 204 no content response or 404 not found
      */
+    @RateLimited
     @DELETE
     @Path("{id}")
-    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, SliderBinary.MEDIA_TYPE})
     public Response deleteSlider(@PathParam("id") Long id) {
         Slider existingSlider = sliderFacade.find(id); // find slider by id
         if (existingSlider == null) {
             return Response.status(Response.Status.NOT_FOUND).build(); // return 404 response
         }
         sliderFacade.remove(existingSlider); // calls facade to delete the slider
+        sliderGame.removed(id);
         return Response.status(Response.Status.NO_CONTENT).build(); // return 204 response
     }
     
@@ -0,0 +1,45 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderMarshallerResolver.java
+ *
+ * Gives the container's XML providers a marshaller that does not validate sliders,
+ * so a Slider or List of Slider read from a frame is written like the frame itself
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.Slider;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * MOXy validates beans on marshal, and sliders worn down to maxTravel 0 fail @Min(1),
+ * which only applies to what clients send
+ * Unmarshalling is left alone, so request bodies are still validated
+ */
+@Provider
+@Produces(MediaType.APPLICATION_XML)
+public class SliderMarshallerResolver implements ContextResolver<Marshaller> {
+
+    @Override
+    public Marshaller getContext(Class<?> type) {
+        if (type != Slider.class) {
+            return null; // the provider's own marshaller
+        }
+        try {
+            return SliderSnapshots.marshaller();
+        } catch (JAXBException exception) {
+            throw new InternalServerErrorException("Cannot create the XML marshaller for sliders", exception);
+        }
+    }
+}
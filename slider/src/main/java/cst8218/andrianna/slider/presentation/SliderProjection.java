@@ -0,0 +1,131 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderProjection.java
+ *
+ * Sliders reduced to the fields a client selected with ?fields=,
+ * read from the game's current frame without decoding the sliders
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.SliderField;
+import cst8218.andrianna.slider.game.SliderSnapshot;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entity of a projected response, written as JSON or XML by SliderProjectionProvider
+ * Holds the positions of the sliders in the frame, the fields are read from its records as they are written
+ */
+public class SliderProjection {
+
+    // projections are only written as JSON and XML, in the order of the resource method's @Produces
+    private static final ProducedVariants VARIANTS =
+            new ProducedVariants(MediaType.APPLICATION_JSON_TYPE, MediaType.APPLICATION_XML_TYPE);
+
+    private final Set<SliderField> fields;
+    private final SliderSnapshot frame;
+    private final int from; // first position in the frame
+    private final int to; // position after the last one
+    private final boolean single; // one slider (GET by id) rather than a list
+    /**
+     * Creates a projection
+     *
+     * @param fields selected fields
+     * @param frame frame holding the sliders
+     * @param from position of the first slider in the frame
+     * @param to position after the last slider
+     * @param single true to write a single slider instead of a list
+     */
+    public SliderProjection(Set<SliderField> fields, SliderSnapshot frame, int from, int to, boolean single) {
+        this.fields = fields;
+        this.frame = frame;
+        this.from = from;
+        this.to = to;
+        this.single = single;
+    }
+
+    public Set<SliderField> getFields() {
+        return fields;
+    }
+
+    public SliderSnapshot getFrame() {
+        return frame;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public boolean isSingle() {
+        return single;
+    }
+    /**
+     * Response for a list endpoint called with ?fields=
+     *
+     * @param fields value of ?fields=
+     * @param resource matched resource method, its @Produces orders the media types
+     * @param request request to negotiate the media type against
+     * @param frame current frame of the game
+     * @param from position of the first slider in the frame
+     * @param to position after the last slider
+     * @return 200 with the projection, 400 for unknown fields, 406 unless JSON or XML is acceptable
+     */
+    public static Response list(String fields, ResourceInfo resource, Request request, SliderSnapshot frame,
+            int from, int to) {
+        return respond(fields, resource, request, frame, from, to, false);
+    }
+    /**
+     * Response for a get endpoint called with ?fields=
+     *
+     * @param fields value of ?fields=
+     * @param resource matched resource method, its @Produces orders the media types
+     * @param request request to negotiate the media type against
+     * @param frame current frame of the game
+     * @param id id of the slider
+     * @return 200 with the projection, 400 for unknown fields, 404 if not found, 406 unless JSON or XML is acceptable
+     */
+    public static Response single(String fields, ResourceInfo resource, Request request, SliderSnapshot frame,
+            long id) {
+        int index = frame.indexOf(id);
+        return respond(fields, resource, request, frame, index, index + 1, true);
+    }
+
+    private static Response respond(String fields, ResourceInfo resource, Request request, SliderSnapshot frame,
+            int from, int to, boolean single) {
+        Set<SliderField> selected;
+        try {
+            selected = SliderField.parse(fields);
+        } catch (IllegalArgumentException exception) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(exception.getMessage())
+                    .type(MediaType.TEXT_PLAIN)
+                    .build(); // 400 unknown field
+        }
+        List<Variant> variants = VARIANTS.of(resource);
+        Variant variant = request.selectVariant(variants);
+        if (variant == null) {
+            return Response.notAcceptable(variants).build(); // 406, e.g. only the binary type accepted
+        }
+        if (single && from < 0) {
+            return Response.status(Response.Status.NOT_FOUND).build(); // 404 not found
+        }
+        return Response.ok(new SliderProjection(selected, frame, from, to, single), variant)
+                .header(SliderSnapshots.TICK_HEADER, frame.getTick())
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderProjectionProvider.java
+ *
+ * Writes a SliderProjection as JSON or XML, with only the selected fields
+ * and in the same shape as a full Slider or List of Slider
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.SliderField;
+import cst8218.andrianna.slider.game.SliderSnapshot;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * JAX-RS provider for SliderProjection
+ * Elements are named like the Slider properties, so clients parse both the same way
+ */
+@Provider
+@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+public class SliderProjectionProvider implements MessageBodyWriter<SliderProjection> {
+
+    // factories are thread safe once created
+    private static final JsonGeneratorFactory JSON = Json.createGeneratorFactory(Collections.emptyMap());
+    private static final XMLOutputFactory XML = XMLOutputFactory.newInstance();
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == SliderProjection.class;
+    }
+
+    @Override
+    public void writeTo(SliderProjection projection, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream out) throws IOException {
+        if (mediaType.isCompatible(MediaType.APPLICATION_XML_TYPE)) {
+            writeXml(projection, out);
+        } else {
+            writeJson(projection, out);
+        }
+    }
+
+    private static void writeJson(SliderProjection projection, OutputStream out) {
+        // not closed, that would close the response stream
+        JsonGenerator json = JSON.createGenerator(out);
+        if (!projection.isSingle()) {
+            json.writeStartArray();
+        }
+        SliderSnapshot frame = projection.getFrame();
+        for (int i = projection.getFrom(); i < projection.getTo(); i++) {
+            json.writeStartObject();
+            for (SliderField field : projection.getFields()) {
+                json.write(field.getAttribute(), frame.value(i, field));
+            }
+            json.writeEnd();
+        }
+        if (!projection.isSingle()) {
+            json.writeEnd();
+        }
+        json.flush();
+    }
+
+    private static void writeXml(SliderProjection projection, OutputStream out) {
+        try {
+            XMLStreamWriter xml = XML.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            if (!projection.isSingle()) {
+                xml.writeStartElement("sliders");
+            }
+            SliderSnapshot frame = projection.getFrame();
+            for (int i = projection.getFrom(); i < projection.getTo(); i++) {
+                xml.writeStartElement("slider");
+                for (SliderField field : projection.getFields()) {
+                    xml.writeStartElement(field.getAttribute());
+                    xml.writeCharacters(Long.toString(frame.value(i, field)));
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+            }
+            if (!projection.isSingle()) {
+                xml.writeEndElement();
+            }
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException exception) {
+            throw new InternalServerErrorException("Cannot write the sliders as XML", exception);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderSnapshots.java
+ *
+ * Writes the game's current frame as a response, serializing it at most once
+ * per media type and encoding however many clients read the frame
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import cst8218.andrianna.slider.game.SliderSnapshot;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders a SliderSnapshot in the form the client negotiated
+ * The bytes match what the JSON-B, JAXB and SliderBinary providers would write for a List of Slider
+ */
+public final class SliderSnapshots {
+
+    // response header carrying the tick of the frame
+    public static final String TICK_HEADER = "X-Slider-Tick";
+    private static final String GZIP = "gzip";
+    // MOXy validates beans on marshal, and frames hold sliders worn down to maxTravel 0
+    private static final String BEAN_VALIDATION_MODE = "eclipselink.beanvalidation.mode";
+    private static final MediaType BINARY = MediaType.valueOf(SliderBinary.MEDIA_TYPE);
+    // in the order of the resource method's @Produces, the frame is served in the same type as without it
+    private static final ProducedVariants VARIANTS =
+            new ProducedVariants(MediaType.APPLICATION_JSON_TYPE, MediaType.APPLICATION_XML_TYPE, BINARY);
+    // JSON-B and JAXB contexts are thread safe and expensive, so they are shared
+    private static final Jsonb JSONB = JsonbBuilder.create();
+    private static final JAXBContext JAXB = createJaxbContext();
+    private static final Object NO_VALIDATION = noValidationMode();
+
+    private SliderSnapshots() {
+    }
+
+    private static JAXBContext createJaxbContext() {
+        try {
+            return JAXBContext.newInstance(Slider.class);
+        } catch (JAXBException exception) {
+            throw new IllegalStateException("Cannot create the JAXB context for Slider", exception);
+        }
+    }
+    /**
+     * BeanValidationMode.NONE of MOXy, looked up by name so the build does not depend on EclipseLink
+     *
+     * @return the value, or null when JAXB is not MOXy and does not validate
+     */
+    private static Object noValidationMode() {
+        try {
+            Class<?> mode = Class.forName("org.eclipse.persistence.jaxb.BeanValidationMode", false,
+                    JAXB.getClass().getClassLoader());
+            for (Object constant : mode.getEnumConstants()) {
+                if ("NONE".equals(((Enum<?>) constant).name())) {
+                    return constant;
+                }
+            }
+        } catch (ClassNotFoundException exception) {
+            // another JAXB implementation
+        }
+        return null;
+    }
+    /**
+     * Marshaller for sliders that does not validate them, so a slider worn down to maxTravel 0 can be written
+     * A new one on every call, marshallers are not thread safe
+     *
+     * @return the marshaller
+     * @throws JAXBException if it cannot be created
+     */
+    static Marshaller marshaller() throws JAXBException {
+        Marshaller marshaller = JAXB.createMarshaller();
+        if (NO_VALIDATION != null) {
+            marshaller.setProperty(BEAN_VALIDATION_MODE, NO_VALIDATION);
+        }
+        return marshaller;
+    }
+    /**
+     * 200 response with the frame in the negotiated media type and encoding
+     * gzip is used only when the client lists it in Accept-Encoding
+     *
+     * @param snapshot frame to send
+     * @param resource matched resource method, its @Produces orders the media types
+     * @param request request to negotiate the media type against
+     * @param headers headers of the request, for Accept-Encoding
+     * @return the response, or 406 if no media type is acceptable
+     */
+    public static Response ok(SliderSnapshot snapshot, ResourceInfo resource, Request request, HttpHeaders headers) {
+        Format format = negotiate(resource, request, headers);
+        if (format == null) {
+            return notAcceptable(resource);
+        }
+        return ok(snapshot, format);
+    }
+    /**
+     * Negotiates the form of the frame while the request is being processed,
+     * so a suspended request can be answered later from another thread
+     *
+     * @param resource matched resource method, its @Produces orders the media types
+     * @param request request to negotiate the media type against
+     * @param headers headers of the request, for Accept-Encoding
+     * @return the form to send, or null if no media type is acceptable
+     */
+    public static Format negotiate(ResourceInfo resource, Request request, HttpHeaders headers) {
+        Variant variant = request.selectVariant(VARIANTS.of(resource));
+        if (variant == null) {
+            return null;
+        }
+        return new Format(variant.getMediaType(), acceptsGzip(headers));
+    }
+    /**
+     * 200 response with the frame in an already negotiated form
+     *
+     * @param snapshot frame to send
+     * @param format form from negotiate
+     * @return the response
+     */
+    public static Response ok(SliderSnapshot snapshot, Format format) {
+        MediaType type = format.type;
+        String key = type.getType() + "/" + type.getSubtype();
+        // the binary form is the frame's own payload, the others are rendered from it once
+        byte[] body = type.isCompatible(BINARY)
+                ? snapshot.payload()
+                : snapshot.render(key, frame -> serialize(type, frame));
+        Response.ResponseBuilder response = Response.ok().type(type)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING)
+                .header(TICK_HEADER, snapshot.getTick());
+        if (format.gzip) {
+            byte[] plain = body;
+            body = snapshot.render(key + ";" + GZIP, frame -> gzip(plain));
+            response.encoding(GZIP);
+        }
+        return response.entity(body).build();
+    }
+    /**
+     * 503 response for a read before the game has loaded the world
+     * The database is behind the frames by up to a save interval, so it is not read instead
+     *
+     * @return the response, with Retry-After
+     */
+    public static Response notLoaded() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .entity("The game has not loaded the world yet, start it with POST /game/resume")
+                .type(MediaType.TEXT_PLAIN)
+                .build(); // 503
+    }
+    /**
+     * 406 response listing the media types a frame can be sent in
+     *
+     * @param resource matched resource method
+     * @return the response
+     */
+    public static Response notAcceptable(ResourceInfo resource) {
+        return Response.notAcceptable(VARIANTS.of(resource)).build();
+    }
+    /**
+     * Checks Accept-Encoding for gzip (or *) without a zero quality
+     */
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        List<String> values = headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                if ((GZIP.equalsIgnoreCase(name) || "*".equals(name)) && !refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] serialize(MediaType type, SliderSnapshot frame) {
+        List<Slider> sliders = frame.getSliders();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+            JSONB.toJson(sliders, out);
+            return out.toByteArray();
+        }
+        try {
+            // a sliders element around one slider fragment each, like the JAXB collection provider
+            Marshaller marshaller = marshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><sliders>"
+                    .getBytes(StandardCharsets.UTF_8));
+            for (Slider slider : sliders) {
+                marshaller.marshal(slider, out);
+            }
+            out.write("</sliders>".getBytes(StandardCharsets.UTF_8));
+            return out.toByteArray();
+        } catch (JAXBException | IOException exception) {
+            throw new InternalServerErrorException("Cannot serialize the sliders as XML", exception);
+        }
+    }
+
+    private static byte[] gzip(byte[] plain) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(plain);
+        } catch (IOException exception) {
+            throw new InternalServerErrorException("Cannot compress the sliders", exception);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Media type and encoding a client negotiated for frames
+     */
+    public static final class Format {
+
+        private final MediaType type;
+        private final boolean gzip;
+
+        private Format(MediaType type, boolean gzip) {
+            this.type = type;
+            this.gzip = gzip;
+        }
+    }
+}
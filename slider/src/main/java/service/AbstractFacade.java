@@ -110,5 +110,33 @@ public abstract class AbstractFacade<T> {
         jakarta.persistence.Query q = getEntityManager().createQuery(cq);
         return ((Long) q.getSingleResult()).intValue(); // convert long to int
     }
+    /**
+     * Selects only the given attributes of all entities
+     * 
+     * @param attributes names of the attributes to select
+     * @return one tuple per entity
+     */
+    public List<jakarta.persistence.Tuple> findAllProjection(String[] attributes) {
+        return projectionQuery(attributes).getResultList();
+    }
+    /**
+     * Tuple query selecting the attributes of every entity
+     */
+    private jakarta.persistence.TypedQuery<jakarta.persistence.Tuple> projectionQuery(String[] attributes) {
+        jakarta.persistence.criteria.CriteriaQuery<jakarta.persistence.Tuple> cq = getEntityManager().getCriteriaBuilder().createTupleQuery();
+        jakarta.persistence.criteria.Root<T> rt = cq.from(entityClass);
+        cq.multiselect(selections(rt, attributes));
+        return getEntityManager().createQuery(cq);
+    }
+    /**
+     * One path per attribute, aliased by name so tuples can be read with get(name)
+     */
+    private List<jakarta.persistence.criteria.Selection<?>> selections(jakarta.persistence.criteria.Root<T> rt, String[] attributes) {
+        List<jakarta.persistence.criteria.Selection<?>> selections = new java.util.ArrayList<>(attributes.length);
+        for (String attribute : attributes) {
+            selections.add(rt.get(attribute).alias(attribute));
+        }
+        return selections;
+    }
     
 }
@@ -10,10 +10,18 @@
 package service;
 
 import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import cst8218.andrianna.slider.game.SliderGame;
+import cst8218.andrianna.slider.game.SliderSnapshot;
+import cst8218.andrianna.slider.presentation.RateLimited;
+import cst8218.andrianna.slider.presentation.SliderProjection;
+import cst8218.andrianna.slider.presentation.SliderSnapshots;
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.ResourceInfo;
 import jakarta.ws.rs.core.*;
 import java.net.URI;
 import java.util.List;
@@ -23,6 +31,9 @@ import java.util.List;
 public class SliderFacadeREST extends AbstractFacade<Slider> {
     @PersistenceContext(unitName = "SliderPU")
     private EntityManager em;
+    // the game publishes the frame that GET /slider serves and applies every write once it commits
+    @EJB
+    private SliderGame sliderGame;
     /**
      * Override method from Abstract facade to get the EntityManager
      * @return EntityManager instance for the slider entity
@@ -45,8 +56,9 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
      * @param uriInfo context object to retrieve URI
      * @return HTTP response for success or failure of operations
      */
+    @RateLimited
     @POST
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
     public Response createPost(Slider entity, @Context UriInfo uriInfo) {
         if (entity.getId() != null) {
             // checks if the ID exists
@@ -55,6 +67,7 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
                 // update the existing slider
                 existingSlider.update(entity);
                 super.edit(existingSlider);
+                sliderGame.saved(existingSlider);
                 return Response.status(Response.Status.OK).entity(existingSlider).build();
             } else {
                 // returns bad request if no id is found
@@ -65,6 +78,7 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
         } else {
             // creates a new Slider if Id is null
             super.create(entity);
+            sliderGame.saved(entity);
             URI location = URI.create(uriInfo.getRequestUri().getPath() + "/" + entity.getId());
             return Response.created(location).entity(entity).build();
         }
@@ -77,9 +91,10 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
      * @param entity Slider object
      * @return HTTP response of success or failure of operations
      */
+    @RateLimited
     @PUT
     @Path("{id}")
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
     public Response editOrCreate(@PathParam("id") Long id, Slider entity) {
         // validates that id matchces the id in the url
         if (entity.getId() == null || !entity.getId().equals(id)) {
@@ -93,12 +108,14 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
             // creates a slider if it does not exist
             entity.setId(id);
             super.create(entity);
+            sliderGame.saved(entity);
             //URI location = URI.create(uriInfo.getRequestUri().getPath());
             return Response.status(Response.Status.OK).entity(entity).build();
         } else {
             // updates the existing slider
             existingSlider.update(entity);
             super.edit(existingSlider);
+            sliderGame.saved(existingSlider);
             return Response.status(Response.Status.OK).entity(existingSlider).build();
         }
     }
@@ -109,6 +126,7 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
      * @param id Id of the slider
      * @return HTTP response of success or failure of the operation
      */
+    @RateLimited
     @DELETE
     @Path("{id}")
     public Response remove(@PathParam("id") Long id) {
@@ -119,63 +137,120 @@ public class SliderFacadeREST extends AbstractFacade<Slider> {
                     .build(); // 404 not found
         }
         super.remove(slider);
+        sliderGame.removed(id);
         return Response.noContent().build(); // 204 no content
     }
     /**
      * GET /slider/{id}
-     * retrieves all sliders by id
+     * retrieves all sliders by id, from the game's current frame
+     * 
+     * With ?fields= only the listed fields are returned
      * 
      * @param id Id of the slider
-     * @return HTTP response of operations
+     * @param fields comma separated fields to return, all of them when absent
+     * @param request request used to negotiate the media type of a projection
+     * @param resource matched method, the projection's media types follow its @Produces
+     * @return HTTP response of operations, 503 before the world is loaded
      */
+    @RateLimited
     @GET
     @Path("{id}")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Response find(@PathParam("id") Long id) {
-        Slider slider = super.find(id);
-        if (slider == null) {
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
+    public Response find(@PathParam("id") Long id, @QueryParam("fields") String fields, @Context Request request,
+            @Context ResourceInfo resource) {
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        if (fields != null) {
+            return SliderProjection.single(fields, resource, request, snapshot, id);
+        }
+        int index = snapshot.indexOf(id);
+        if (index < 0) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Slider with ID " + id + " not found.")
                     .build(); // 404 not found
         }
-        return Response.ok(slider).build(); // 200 OK
+        return Response.ok(snapshot.get(index)).header(SliderSnapshots.TICK_HEADER, snapshot.getTick()).build(); // 200 OK
     }
     /**
      * GET /slider
-     * Retrieves all sliders
+     * Retrieves all sliders, from the game's current frame
+     * With ?fields= only the listed fields are returned
      * 
-     * @return List of all sliders
+     * @param fields comma separated fields to return, all of them when absent
+     * @param request request used to negotiate the media type
+     * @param headers request headers, gzip is used when Accept-Encoding allows it
+     * @param resource matched method, the frame's and projection's media types follow its @Produces
+     * @return List of all sliders, 503 before the world is loaded
      */
+    @RateLimited
     @GET
-    @Override
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public List<Slider> findAll() {
-        return super.findAll();
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
+    public Response findAllREST(@QueryParam("fields") String fields, @Context Request request,
+            @Context HttpHeaders headers, @Context ResourceInfo resource) {
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        if (fields != null) {
+            return SliderProjection.list(fields, resource, request, snapshot, 0, snapshot.size());
+        }
+        return SliderSnapshots.ok(snapshot, resource, request, headers);
     }
     /**
      * GET /slider/{from}/{to}
-     * Retrieves a range of slider between specified indices
+     * Retrieves a range of slider between specified indices of the game's current frame
+     * 
+     * With ?fields= only the listed fields are returned
      * 
      * @param from start index
-     * @param to end index
-     * @return list of all sliders in the range
+     * @param to end index, included
+     * @param fields comma separated fields to return, all of them when absent
+     * @param request request used to negotiate the media type of a projection
+     * @param resource matched method, the projection's media types follow its @Produces
+     * @return list of all sliders in the range, 400 if the range is reversed, 503 before the world is loaded
      */
+    @RateLimited
     @GET
     @Path("{from}/{to}")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public List<Slider> findRange(@PathParam("from") Integer from, @PathParam("to") Integer to) {
-        return super.findRange(new int[]{from, to});
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, SliderBinary.MEDIA_TYPE})
+    public Response findRange(@PathParam("from") Integer from, @PathParam("to") Integer to,
+            @QueryParam("fields") String fields, @Context Request request, @Context ResourceInfo resource) {
+        if (from < 0 || to < from) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("The range must start at 0 or later and end at or after its start.")
+                    .build(); // 400 bad request
+        }
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        // the end index is included, as in findRange, and a range past the end is cut short
+        int first = Math.min(from, snapshot.size());
+        int last = (int) Math.min(to + 1L, snapshot.size());
+        if (fields != null) {
+            return SliderProjection.list(fields, resource, request, snapshot, first, last);
+        }
+        return Response.ok(new GenericEntity<List<Slider>>(snapshot.getSliders(first, last)) {})
+                .header(SliderSnapshots.TICK_HEADER, snapshot.getTick())
+                .build();
     }
     /**
      * GET /slider/count
-     * Returns total count of sliders
+     * Returns total count of sliders in the game's current frame
      * 
-     * @return String with total count of sliders
+     * @return String with total count of sliders, 503 before the world is loaded
      */
+    @RateLimited
     @GET
     @Path("count")
     @Produces(MediaType.TEXT_PLAIN)
-    public String countREST() {
-        return String.valueOf(super.count());
+    public Response countREST() {
+        SliderSnapshot snapshot = sliderGame.currentSnapshot();
+        if (snapshot == null) {
+            return SliderSnapshots.notLoaded();
+        }
+        return Response.ok(String.valueOf(snapshot.size())).build();
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * MutationJournalTest.java
+ *
+ * Checks that replaying the journal rebuilds the world the game loop made,
+ * and that a torn or corrupt record is never stepped over
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MutationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void replaysSavesAndRemovesThenStepsEveryTick() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(11);
+            journal.append(11, new WorldChange(5L, slider(5L, 30)));
+            journal.commit();
+            journal.append(13, new WorldChange(1L, null));
+            journal.commit();
+        }
+        Map<Long, Slider> world = world(slider(1L, 20), slider(2L, 40));
+        Set<Long> changed = new HashSet<>();
+
+        assertEquals(13, MutationJournal.replay(directory, 10, world, changed));
+        Map<Long, Slider> expected = world(slider(2L, 40), slider(5L, 30));
+        step(expected, 3); // slider 5 was created in tick 11, so it takes that tick's step too
+        assertEquals(state(expected), state(world));
+        assertEquals(Set.of(1L, 5L), changed);
+    }
+
+    @Test
+    public void skipsSegmentsTheCheckpointCovers() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(1);
+            journal.append(5, new WorldChange(7L, slider(7L, 10)));
+            journal.commit();
+            journal.start(11);
+            journal.append(12, new WorldChange(8L, slider(8L, 10)));
+            journal.commit();
+        }
+        Map<Long, Slider> world = world(slider(1L, 20));
+
+        assertEquals(12, MutationJournal.replay(directory, 10, world, new HashSet<>()));
+        assertEquals(List.of(1L, 8L), new ArrayList<>(world.keySet()));
+    }
+
+    @Test
+    public void replayToStepsToTheTickAndStopsThere() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(11);
+            journal.append(12, new WorldChange(1L, slider(1L, 5)));
+            journal.commit();
+            journal.append(17, new WorldChange(2L, slider(2L, 5)));
+            journal.commit();
+        }
+        Map<Long, Slider> world = world(slider(1L, 20));
+
+        assertEquals(15, replayTo(10, 15, world));
+        Map<Long, Slider> expected = world(slider(1L, 20));
+        step(expected, 1);
+        expected.put(1L, slider(1L, 5));
+        step(expected, 4);
+        assertEquals(state(expected), state(world)); // the record of tick 17 is not applied
+    }
+
+    @Test
+    public void corruptRecordStopsReplayToAtItsTick() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(11);
+            journal.append(12, new WorldChange(1L, slider(1L, 5)));
+            journal.commit();
+            journal.append(14, new WorldChange(1L, slider(1L, 9)));
+            journal.commit();
+            journal.append(16, new WorldChange(1L, slider(1L, 7)));
+            journal.commit();
+            journal.start(21);
+            journal.append(22, new WorldChange(2L, slider(2L, 5)));
+            journal.commit();
+        }
+        corrupt(directory.resolve("slider-journal-11.log"), MutationJournal.RECORD_BYTES + 20); // tick 14
+
+        assertEquals(12, replayTo(10, 25, world(slider(1L, 20))));
+    }
+
+    @Test
+    public void tornRecordStopsReplayToUnlessTheGameIsAppendingIt() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(11);
+            journal.append(12, new WorldChange(1L, slider(1L, 5)));
+            journal.commit();
+        }
+        Path segment = directory.resolve("slider-journal-11.log");
+        append(segment, new byte[MutationJournal.RECORD_BYTES / 2]);
+        // the last segment is the one the game appends to, a record it has not finished ends the records
+        assertEquals(20, replayTo(10, 20, world(slider(1L, 20))));
+
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(21);
+        }
+        // a later segment was started, so the record was torn by a crash and what followed it is lost
+        assertEquals(12, replayTo(10, 20, world(slider(1L, 20))));
+    }
+
+    @Test
+    public void corruptRecordInTheLastSegmentIsNotTakenForAnAppend() throws IOException {
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(11);
+            journal.append(12, new WorldChange(1L, slider(1L, 5)));
+            journal.commit();
+            journal.append(14, new WorldChange(1L, slider(1L, 9)));
+            journal.commit();
+            journal.append(16, new WorldChange(1L, slider(1L, 7)));
+            journal.commit();
+        }
+        Path segment = directory.resolve("slider-journal-11.log");
+        corrupt(segment, MutationJournal.RECORD_BYTES + 20); // tick 14, a valid record follows it
+        assertEquals(12, replayTo(10, 20, world(slider(1L, 20))));
+
+        corrupt(segment, MutationJournal.RECORD_BYTES + 20); // flipped back
+        corrupt(segment, 2 * MutationJournal.RECORD_BYTES + 20); // tick 16 is last, as if still being written
+        assertEquals(20, replayTo(10, 20, world(slider(1L, 20))));
+    }
+
+    private long replayTo(long fromTick, long toTick, Map<Long, Slider> world) throws IOException {
+        List<FileChannel> segments = MutationJournal.open(List.of(directory), fromTick);
+        try {
+            return MutationJournal.replayTo(segments, fromTick, toTick, world);
+        } finally {
+            MutationJournal.close(segments);
+        }
+    }
+
+    static Slider slider(Long id, int maxTravel) {
+        Slider slider = new Slider();
+        slider.setId(id);
+        slider.setX(id.intValue() * 10);
+        slider.setY(id.intValue());
+        slider.restoreMotion(maxTravel, 0, 1, 0);
+        return slider;
+    }
+
+    static Map<Long, Slider> world(Slider... sliders) {
+        Map<Long, Slider> world = new LinkedHashMap<>();
+        for (Slider slider : sliders) {
+            world.put(slider.getId(), slider);
+        }
+        return world;
+    }
+
+    static void step(Map<Long, Slider> world, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            for (Slider slider : world.values()) {
+                slider.timeStep();
+            }
+        }
+    }
+    /**
+     * Every value of every slider, in the world's order
+     */
+    static List<List<Long>> state(Map<Long, Slider> world) {
+        List<List<Long>> state = new ArrayList<>();
+        for (Slider slider : world.values()) {
+            state.add(List.of(slider.getId(), (long) slider.getX(), (long) slider.getY(), (long) slider.getSize(),
+                    (long) slider.getMaxTravel(), (long) slider.getCurrentTravel(), (long) slider.getMvtDirection(),
+                    (long) slider.getDirChangeCount()));
+        }
+        return state;
+    }
+
+    static void corrupt(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) ~value.get(0));
+            value.rewind();
+            channel.write(value, position);
+        }
+    }
+
+    private static void append(Path file, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(bytes));
+        }
+    }
+}
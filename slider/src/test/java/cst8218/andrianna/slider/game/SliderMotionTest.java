@@ -0,0 +1,117 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderMotionTest.java
+ *
+ * Checks that a SliderMotion stepped with the rules of SliderMotions
+ * gives the same slider as Slider.timeStep() at every tick
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The extrapolation is written from the SliderMotion fields and the SliderMotions rules only,
+ * the way a client steps them, so a change to timeStep that the motions do not describe fails here.
+ * The end-to-end check against a running server is MotionConformance in slider-loadtest.
+ */
+public class SliderMotionTest {
+
+    // enough ticks for the shortest slider to wear maxTravel down to 0
+    private static final int TICKS = 5_000;
+
+    @Test
+    public void extrapolatedMotionMatchesTimeStep() {
+        List<Slider> sliders = new ArrayList<>();
+        sliders.add(slider(1L, Slider.INITIAL_SIZE, 0, 1, 0)); // a new slider
+        sliders.add(slider(2L, 7, 0, 1, 0)); // maxTravel not a multiple of the speed, overshoots it
+        sliders.add(slider(3L, 12, -5, -1, Slider.MAX_DIR_CHANGES - 1)); // left, one flip before maxTravel drops
+        sliders.add(slider(4L, 1, 0, -1, 0)); // worn down to 0 within a few flips
+        sliders.add(slider(5L, 0, 3, 1, 4)); // already worn down, never moves
+        SliderMotions rules = new SliderMotions(0, true, motionsOf(sliders, 0));
+        List<SliderMotion> motions = rules.getMotions();
+
+        int[] flips = new int[sliders.size()];
+        for (long tick = 1; tick <= TICKS; tick++) {
+            for (int i = 0; i < sliders.size(); i++) {
+                Slider slider = sliders.get(i);
+                int direction = slider.getMvtDirection();
+                slider.timeStep();
+                if (slider.getMvtDirection() != direction) {
+                    flips[i]++;
+                }
+                assertArrayEquals(state(slider), extrapolate(motions.get(i), rules, tick),
+                        "slider " + slider.getId() + " at tick " + tick);
+            }
+            if (tick % 1_000 == 0) {
+                // motions are republished from later frames after a REST write, extrapolating from those must agree too
+                motions = motionsOf(sliders, tick);
+            }
+        }
+        // the ticks went through flips and maxTravel decay down to 0
+        assertTrue(flips[0] > Slider.MAX_DIR_CHANGES, "slider 1 flipped " + flips[0] + " times");
+        assertTrue(sliders.get(0).getMaxTravel() < Slider.INITIAL_SIZE, "slider 1 maxTravel did not decay");
+        assertEquals(0, sliders.get(1).getMaxTravel());
+        assertEquals(0, sliders.get(2).getMaxTravel());
+        assertEquals(0, sliders.get(3).getMaxTravel());
+        assertEquals(0, flips[4]);
+    }
+
+    private static Slider slider(Long id, int maxTravel, int currentTravel, int mvtDirection, int dirChangeCount) {
+        Slider slider = new Slider();
+        slider.setId(id);
+        slider.setX(id.intValue() * 10);
+        slider.setY(id.intValue() * 20);
+        slider.restoreMotion(maxTravel, currentTravel, mvtDirection, dirChangeCount);
+        return slider;
+    }
+
+    private static List<SliderMotion> motionsOf(List<Slider> sliders, long tick) {
+        List<SliderMotion> motions = new ArrayList<>();
+        for (Slider slider : sliders) {
+            motions.add(SliderMotion.of(slider, tick));
+        }
+        return motions;
+    }
+    /**
+     * State of the motion's slider at a tick, stepped from its base tick as a client does
+     *
+     * @return x, y, size, maxTravel, currentTravel, mvtDirection, dirChangeCount
+     */
+    private static int[] extrapolate(SliderMotion motion, SliderMotions rules, long tick) {
+        int maxTravel = motion.getMaxTravel();
+        int currentTravel = motion.getCurrentTravel();
+        int mvtDirection = motion.getMvtDirection();
+        int dirChangeCount = motion.getDirChangeCount();
+        for (long t = motion.getBaseTick(); t < tick && maxTravel > 0; t++) {
+            currentTravel += mvtDirection * rules.getTravelSpeed();
+            if (Math.abs(currentTravel) >= maxTravel) {
+                mvtDirection = -mvtDirection;
+                dirChangeCount++;
+                if (dirChangeCount >= rules.getMaxDirChanges()) {
+                    maxTravel -= rules.getDecreaseRate();
+                    dirChangeCount = 0;
+                }
+            }
+        }
+        return new int[]{motion.getX(), motion.getY(), motion.getSize(),
+            maxTravel, currentTravel, mvtDirection, dirChangeCount};
+    }
+
+    private static int[] state(Slider slider) {
+        return new int[]{slider.getX(), slider.getY(), slider.getSize(), slider.getMaxTravel(),
+            slider.getCurrentTravel(), slider.getMvtDirection(), slider.getDirChangeCount()};
+    }
+}
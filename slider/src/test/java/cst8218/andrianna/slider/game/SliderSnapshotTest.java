@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderSnapshotTest.java
+ *
+ * Checks that a frame captured as SliderBinary records gives back the sliders it was made from
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SliderSnapshotTest {
+
+    @Test
+    public void capturesTheSlidersAsTheyWere() {
+        List<Slider> sliders = List.of(slider(3L, 0), slider(7L, 40), slider(9L, 12));
+        SliderSnapshot frame = new SliderSnapshot(42, sliders);
+        sliders.get(1).timeStep(); // later ticks do not change the frame
+
+        assertEquals(42, frame.getTick());
+        assertEquals(3, frame.size());
+        Slider worn = frame.get(0);
+        assertEquals(3L, worn.getId());
+        assertEquals(0, worn.getMaxTravel()); // kept, unlike setMaxTravel
+        assertEquals(0, frame.get(1).getCurrentTravel());
+        assertEquals(List.of(7L, 9L), ids(frame.getSliders(1, 3)));
+    }
+
+    @Test
+    public void payloadIsTheBinaryForm() {
+        List<Slider> sliders = List.of(slider(1L, 20), slider(2L, 30));
+        ByteBuffer expected = ByteBuffer.allocate((int) SliderBinary.payloadBytes(2)).order(SliderBinary.BYTE_ORDER);
+        expected.putInt(2);
+        for (Slider slider : sliders) {
+            SliderBinary.write(expected, slider);
+        }
+        assertEquals(ByteBuffer.wrap(expected.array()), ByteBuffer.wrap(new SliderSnapshot(1, sliders).payload()));
+    }
+
+    @Test
+    public void findsSlidersByIdInAnyOrder() {
+        SliderSnapshot ascending = new SliderSnapshot(1, List.of(slider(2L, 10), slider(5L, 10), slider(8L, 10)));
+        SliderSnapshot unordered = new SliderSnapshot(1, List.of(slider(8L, 10), slider(2L, 10), slider(5L, 10)));
+        assertEquals(1, ascending.indexOf(5));
+        assertEquals(-1, ascending.indexOf(6));
+        assertEquals(0, unordered.indexOf(8));
+        assertEquals(2, unordered.indexOf(5));
+        assertEquals(-1, unordered.indexOf(1));
+        assertEquals(-1, new SliderSnapshot(1, new ArrayList<>()).indexOf(1));
+    }
+
+    @Test
+    public void rendersEachVariantOnce() {
+        SliderSnapshot frame = new SliderSnapshot(1, List.of(slider(1L, 10)));
+        byte[] first = frame.render("a", snapshot -> new byte[]{1});
+        assertSame(first, frame.render("a", snapshot -> new byte[]{2}));
+    }
+
+    private static Slider slider(Long id, int maxTravel) {
+        Slider slider = new Slider();
+        slider.setId(id);
+        slider.setX(id.intValue());
+        slider.restoreMotion(maxTravel, 0, 1, 0);
+        return slider;
+    }
+
+    private static List<Long> ids(List<Slider> sliders) {
+        List<Long> ids = new ArrayList<>();
+        for (Slider slider : sliders) {
+            ids.add(slider.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * WorldCheckpointTest.java
+ *
+ * Checks that a checkpoint reads back the world and capture time it was written with,
+ * and that a damaged file is refused instead of loaded
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import static cst8218.andrianna.slider.game.MutationJournalTest.corrupt;
+import static cst8218.andrianna.slider.game.MutationJournalTest.slider;
+import static cst8218.andrianna.slider.game.MutationJournalTest.state;
+import static cst8218.andrianna.slider.game.MutationJournalTest.world;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorldCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void readsBackTheWorldAndWhenItWasCaptured() throws IOException {
+        Path file = directory.resolve("slider-world.ckpt");
+        Map<Long, Slider> world = world(slider(4L, 0), slider(2L, 35), slider(9L, 12)); // 4 is worn down
+        WorldCheckpoint.write(file, 120, 1_700_000_000_123L, new ArrayList<>(world.values()));
+
+        WorldCheckpoint checkpoint = WorldCheckpoint.read(file);
+        assertEquals(120, checkpoint.getTick());
+        assertEquals(1_700_000_000_123L, checkpoint.getCapturedAt()); // not the time the file was written
+        assertEquals(state(world), state(byId(checkpoint.getSliders())));
+    }
+
+    @Test
+    public void frameIsWrittenWithItsCaptureTime() throws IOException {
+        Path file = directory.resolve("slider-world.ckpt");
+        SliderSnapshot frame = new SliderSnapshot(7, List.of(slider(1L, 20), slider(3L, 0)));
+        WorldCheckpoint.write(file, frame);
+
+        WorldCheckpoint checkpoint = WorldCheckpoint.read(file);
+        assertEquals(7, checkpoint.getTick());
+        assertEquals(frame.getCapturedAt(), checkpoint.getCapturedAt());
+        assertEquals(state(byId(frame.getSliders())), state(byId(checkpoint.getSliders())));
+    }
+
+    @Test
+    public void missingFileIsNoCheckpoint() throws IOException {
+        assertNull(WorldCheckpoint.read(directory.resolve("slider-world.ckpt")));
+    }
+
+    @Test
+    public void corruptRecordIsRefused() throws IOException {
+        Path file = written();
+        corrupt(file, WorldCheckpoint.HEADER_BYTES + 10);
+        assertMessage(file, "is corrupt");
+    }
+
+    @Test
+    public void truncatedFileIsRefused() throws IOException {
+        Path file = written();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertMessage(file, "is truncated");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(WorldCheckpoint.HEADER_BYTES - 1);
+        }
+        assertMessage(file, "has an invalid size");
+    }
+
+    @Test
+    public void otherVersionIsRefused() throws IOException {
+        Path file = written();
+        corrupt(file, Integer.BYTES); // the version
+        assertMessage(file, "is not a version " + WorldCheckpoint.VERSION + " world checkpoint");
+    }
+
+    private Path written() throws IOException {
+        Path file = directory.resolve("slider-world.ckpt");
+        WorldCheckpoint.write(file, 3, 1L, List.of(slider(1L, 20), slider(2L, 30)));
+        return file;
+    }
+
+    private static void assertMessage(Path file, String part) {
+        IOException failure = assertThrows(IOException.class, () -> WorldCheckpoint.read(file));
+        assertTrue(failure.getMessage().contains(part), failure.getMessage());
+    }
+
+    private static Map<Long, Slider> byId(List<Slider> sliders) {
+        Map<Long, Slider> world = new LinkedHashMap<>();
+        for (Slider slider : sliders) {
+            world.put(slider.getId(), slider);
+        }
+        return world;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * WorldHistoryTest.java
+ *
+ * Checks that the archive keeps only its newest checkpoints with the segments after them,
+ * and rebuilds a past tick from them the way the game loop made it
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.game;
+
+import static cst8218.andrianna.slider.game.MutationJournalTest.corrupt;
+import static cst8218.andrianna.slider.game.MutationJournalTest.slider;
+import static cst8218.andrianna.slider.game.MutationJournalTest.state;
+import static cst8218.andrianna.slider.game.MutationJournalTest.step;
+import static cst8218.andrianna.slider.game.MutationJournalTest.world;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cst8218.andrianna.slider.entity.Slider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WorldHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void archiveKeepsTheNewestCheckpointsAndTheSegmentsAfterThem() throws IOException {
+        WorldHistory history = new WorldHistory(directory, 2);
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            for (long tick = 0; tick <= 30; tick += 10) {
+                journal.start(tick + 1); // as the game does, before the checkpoint is written
+                checkpoint(history, tick, world(slider(1L, 20)));
+            }
+        }
+        Path archive = directory.resolve("archive");
+        assertEquals(List.of("slider-world-20.ckpt", "slider-world-30.ckpt"), names(archive, "slider-world-"));
+        // segments up to the oldest checkpoint are deleted, the one after the newest is still written to
+        assertEquals(List.of("slider-journal-21.log"), names(archive, "slider-journal-"));
+        assertEquals(List.of("slider-journal-31.log"), names(directory, "slider-journal-"));
+    }
+
+    @Test
+    public void rebuildsPastTicksFromTheArchive() throws IOException {
+        WorldHistory history = new WorldHistory(directory, 2);
+        Map<Long, Slider> game = world(slider(1L, 20), slider(2L, 30));
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            for (long tick = 0; tick < 30; tick++) {
+                if (tick % 10 == 0) {
+                    journal.start(tick + 1);
+                    checkpoint(history, tick, game);
+                }
+                if (tick + 1 == 14) { // a REST write applied in tick 14
+                    Slider edited = slider(2L, 8);
+                    game.put(2L, edited);
+                    journal.append(14, new WorldChange(2L, edited));
+                    journal.commit();
+                }
+                step(game, 1);
+            }
+        }
+        Map<Long, Slider> expected = world(slider(1L, 20), slider(2L, 30));
+        step(expected, 13);
+        expected.put(2L, slider(2L, 8));
+        step(expected, 4);
+        assertEquals(state(expected), state(history.rebuild(17)));
+        assertEquals(state(game), state(history.rebuild(30)));
+        assertNull(history.rebuild(5)); // pruned with the checkpoint of tick 0
+    }
+
+    @Test
+    public void rebuildFailsWhenACorruptRecordStopsTheReplay() throws IOException {
+        WorldHistory history = new WorldHistory(directory, 2);
+        try (MutationJournal journal = new MutationJournal(directory)) {
+            journal.start(1);
+            checkpoint(history, 0, world(slider(1L, 20)));
+            journal.append(3, new WorldChange(1L, slider(1L, 9)));
+            journal.commit();
+            journal.append(6, new WorldChange(1L, slider(1L, 7)));
+            journal.commit();
+        }
+        corrupt(directory.resolve("slider-journal-1.log"), 20); // tick 3, a valid record follows it
+
+        IOException failure = assertThrows(IOException.class, () -> history.rebuild(8));
+        assertEquals("A corrupt journal record stops the replay at tick 0, tick 8 cannot be rebuilt",
+                failure.getMessage());
+    }
+
+    private void checkpoint(WorldHistory history, long tick, Map<Long, Slider> world) throws IOException {
+        Path file = directory.resolve("slider-world.ckpt");
+        WorldCheckpoint.write(file, tick, System.currentTimeMillis(), new ArrayList<>(world.values()));
+        history.archive(file, tick);
+    }
+
+    private static List<String> names(Path directory, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .sorted(Comparator.comparingLong(WorldHistoryTest::tick))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long tick(String name) {
+        return Long.parseLong(name.replaceAll("\\D", ""));
+    }
+}
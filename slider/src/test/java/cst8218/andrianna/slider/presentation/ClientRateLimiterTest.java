@@ -0,0 +1,60 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * ClientRateLimiterTest.java
+ *
+ * Checks that every client gets a bucket of its own, up to the bound,
+ * and that idle clients make room for new ones
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ClientRateLimiterTest {
+
+    // one token back every 1000 seconds, so nothing refills during a test
+    private static final double SLOW = 0.001;
+
+    @Test
+    public void clientsDoNotShareBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(SLOW, 2, 100);
+        assertEquals("Aa".hashCode(), "BB".hashCode()); // would have shared a stripe
+        assertEquals(0, limiter.acquire("Aa"));
+        assertEquals(0, limiter.acquire("Aa"));
+        assertTrue(limiter.acquire("Aa") > 0);
+        assertEquals(0, limiter.acquire("BB"));
+        assertEquals(0, limiter.acquire("BB"));
+        assertTrue(limiter.acquire("BB") > 0);
+        assertEquals(2, limiter.clients());
+    }
+
+    @Test
+    public void clientsBeyondTheBoundShareOneBucket() {
+        ClientRateLimiter limiter = new ClientRateLimiter(SLOW, 1, 2);
+        assertEquals(0, limiter.acquire("10.0.0.1"));
+        assertEquals(0, limiter.acquire("10.0.0.2"));
+        // both are still active, so the next clients get the overflow bucket
+        assertEquals(0, limiter.acquire("10.0.0.3"));
+        assertTrue(limiter.acquire("10.0.0.4") > 0);
+        assertEquals(2, limiter.clients());
+    }
+
+    @Test
+    public void idleClientsAreEvictedForNewOnes() throws InterruptedException {
+        // a token back every millisecond, so a bucket is full again right after a request
+        ClientRateLimiter limiter = new ClientRateLimiter(1_000, 1, 1);
+        assertEquals(0, limiter.acquire("10.0.0.1"));
+        Thread.sleep(5);
+        assertEquals(0, limiter.acquire("10.0.0.2"));
+        assertEquals(1, limiter.clients());
+        assertTrue(limiter.acquire("10.0.0.2") > 0); // its own bucket, not a new one each time
+    }
+}
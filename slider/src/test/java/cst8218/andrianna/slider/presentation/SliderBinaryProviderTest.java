@@ -0,0 +1,118 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+/**
+ * SliderBinaryProviderTest.java
+ *
+ * Checks that SliderBinary payloads read back what was written,
+ * and that a payload whose count does not match its records is a bad request
+ *
+ * @author AndriannaWardill
+ * Date: October 19, 2026
+ */
+package cst8218.andrianna.slider.presentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cst8218.andrianna.slider.entity.Slider;
+import cst8218.andrianna.slider.entity.SliderBinary;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SliderBinaryProviderTest {
+
+    private static final MediaType BINARY = MediaType.valueOf(SliderBinary.MEDIA_TYPE);
+
+    private final SliderBinaryProvider provider = new SliderBinaryProvider();
+    // declared type of a list entity, as the container passes it
+    private List<Slider> sliders;
+
+    @Test
+    public void readsBackWhatItWrites() throws Exception {
+        List<Slider> written = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) { // more than one chunk of records
+            written.add(slider(id));
+        }
+        Object read = read(listType(), write(written, listType()));
+        assertEquals(ids(written), ids((List<?>) read));
+
+        Slider single = (Slider) read(Slider.class, write(slider(7L), Slider.class));
+        assertEquals(7L, single.getId());
+        assertEquals(70, single.getX());
+    }
+
+    @Test
+    public void truncatedPayloadIsABadRequest() throws Exception {
+        byte[] payload = write(List.of(slider(1L), slider(2L)), listType());
+        assertBadRequest(listType(), Arrays.copyOf(payload, payload.length - 1), "Truncated");
+        assertBadRequest(listType(), Arrays.copyOf(payload, SliderBinary.HEADER_BYTES - 1), "Truncated");
+    }
+
+    @Test
+    public void trailingBytesAreABadRequest() throws Exception {
+        byte[] payload = write(List.of(slider(1L)), listType());
+        assertBadRequest(listType(), Arrays.copyOf(payload, payload.length + 1), "Trailing bytes after 1 records");
+    }
+
+    @Test
+    public void countOtherThanOneIsABadSingleSlider() throws Exception {
+        assertBadRequest(Slider.class, write(List.of(slider(1L), slider(2L)), listType()), "Invalid slider count 2");
+        byte[] negative = ByteBuffer.allocate(SliderBinary.HEADER_BYTES).order(SliderBinary.BYTE_ORDER)
+                .putInt(-1).array();
+        assertBadRequest(listType(), negative, "Invalid slider count -1");
+    }
+
+    private byte[] write(Object entity, Type genericType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(entity, entity.getClass(), genericType, new Annotation[0], BINARY,
+                new MultivaluedHashMap<>(), out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object read(Type genericType, byte[] payload) throws IOException {
+        Class<?> type = genericType == Slider.class ? Slider.class : List.class;
+        return provider.readFrom((Class<Object>) type, genericType, new Annotation[0], BINARY,
+                new MultivaluedHashMap<>(), new ByteArrayInputStream(payload));
+    }
+
+    private void assertBadRequest(Type genericType, byte[] payload, String message) {
+        BadRequestException failure = assertThrows(BadRequestException.class, () -> read(genericType, payload));
+        assertTrue(failure.getMessage().startsWith(message), failure.getMessage());
+    }
+
+    private static Type listType() throws NoSuchFieldException {
+        return SliderBinaryProviderTest.class.getDeclaredField("sliders").getGenericType();
+    }
+
+    private static Slider slider(Long id) {
+        Slider slider = new Slider();
+        slider.setId(id);
+        slider.setX(id.intValue() * 10);
+        slider.setY(id.intValue());
+        slider.restoreMotion(20, 0, 1, 0);
+        return slider;
+    }
+
+    private static List<Long> ids(List<?> sliders) {
+        List<Long> ids = new ArrayList<>();
+        for (Object slider : sliders) {
+            ids.add(((Slider) slider).getId());
+        }
+        return ids;
+    }
+}